@@ -0,0 +1,58 @@
+package com.todo.demo.benchmark;
+
+import com.todo.demo.DemoApplication;
+import com.todo.demo.model.Task;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+//the application booted against an in-memory H2 database in MySQL mode, for repository-backed benchmarks
+final class BenchmarkApplication {
+
+    private static final int INSERT_BATCH = 5000;
+
+    private BenchmarkApplication() {
+    }
+
+    //extraArgs are further --name=value overrides, e.g. to switch on virtual threads
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                        + "NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.devtools.restart.enabled=false",
+                "--task-cache.enabled=false"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(DemoApplication.class).run(args.toArray(String[]::new));
+    }
+
+    //plain JDBC inserts, so the title index and caches are not involved in the setup
+    static void seedTasks(ConfigurableApplicationContext context, int taskCount, int userCount) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String sql = "INSERT INTO task (id, user_id, title, completed, created_at, updated_at, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, 0)";
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (long id = 1; id <= taskCount; id++) {
+            Task task = Fixtures.task(id, userCount);
+            Timestamp time = Timestamp.valueOf(task.getCreatedAt());
+            batch.add(new Object[]{task.getId(), task.getUserId(), task.getTitle(), task.getCompleted(), time, time});
+            if (batch.size() == INSERT_BATCH) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.todo.demo.benchmark;
+
+import com.todo.demo.model.User;
+import com.todo.demo.repository.UserRepository;
+import com.todo.demo.service.JwtService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The running application under 5000 concurrent clients: every benchmark thread is one
+ * client that sends GET /tasks/{id} and sends the next as soon as the response completes,
+ * so each operation is one request. "requests" reports requests per second, split into
+ * the ok and failed counters, and "latency" samples per-request latency (look at p0.99);
+ * JMH only reports the counters in throughput mode, hence the two methods. Throughput is
+ * normalised per thread, so iterations have to be much longer than a request takes. Run
+ * with virtualThreads false and true to compare request handling on the Tomcat thread
+ * pool with virtual threads; both share the same Hikari pool, so requests the pool cannot
+ * serve within its connection timeout show up as failed rather than as a lower percentile.
+ * Use -t to change the number of clients; client and server sockets live in the same JVM,
+ * so it is bounded by half the process file descriptor limit.
+ */
+@Threads(5000)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@State(Scope.Benchmark)
+public class ConcurrentClientLoadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"100000"})
+    public int taskCount;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private String authorization;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Responses {
+        public long ok;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ok = 0;
+            failed = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("--spring.threads.virtual.enabled=" + virtualThreads);
+        BenchmarkApplication.seedTasks(context, taskCount, 1000);
+
+        User user = Fixtures.user();
+        user.setId(null);
+        user = context.getBean(UserRepository.class).save(user);
+        authorization = "Bearer " + context.getBean(JwtService.class).generateToken(user);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/tasks/";
+
+        //explicit executor: on small machines the default one starts a thread per response callback
+        clientExecutor = Executors.newFixedThreadPool(2);
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        httpClient.shutdownNow();
+        clientExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean requests(Responses responses) {
+        boolean ok = getTask();
+        if (ok) {
+            responses.ok++;
+        } else {
+            responses.failed++;
+        }
+        return ok;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean latency() {
+        return getTask();
+    }
+
+    private boolean getTask() {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + randomTaskId()))
+                .header("Authorization", authorization)
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> error == null && response.statusCode() == 200)
+                .join();
+    }
+
+    private long randomTaskId() {
+        return ThreadLocalRandom.current().nextLong(1, taskCount + 1);
+    }
+}
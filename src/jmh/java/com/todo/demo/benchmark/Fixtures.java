@@ -0,0 +1,51 @@
+package com.todo.demo.benchmark;
+
+import com.todo.demo.model.Task;
+import com.todo.demo.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+//deterministic test data shared by the benchmarks
+final class Fixtures {
+
+    static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private Fixtures() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("bench@example.com");
+        user.setUsername("bench");
+        user.setPassword("{noop}secret");
+        return user;
+    }
+
+    static Task task(long id) {
+        return task(id, 1000);
+    }
+
+    //tasks are spread round-robin over userCount users (ids 1..userCount); every tenth task
+    //has no completed flag, the rest alternate completed / pending
+    static Task task(long id, int userCount) {
+        Task task = new Task();
+        task.setId(id);
+        task.setUserId(id % userCount + 1);
+        task.setTitle("benchmark task number " + id + " with a typical title length");
+        task.setCompleted(id % 10 == 0 ? null : id % 2 == 0);
+        task.setCreatedAt(BASE_TIME.plusSeconds(id));
+        task.setUpdatedAt(BASE_TIME.plusSeconds(id));
+        return task;
+    }
+
+    static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            tasks.add(task(id));
+        }
+        return tasks;
+    }
+}
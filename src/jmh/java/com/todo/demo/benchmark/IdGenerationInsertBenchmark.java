@@ -0,0 +1,92 @@
+package com.todo.demo.benchmark;
+
+import com.todo.demo.model.Task;
+import com.todo.demo.model.User;
+import com.todo.demo.repository.TaskRepository;
+import com.todo.demo.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows inserted per second through saveAll in transactions of BATCH rows:
+ * Task ids come from the pooled-lo sequence (JDBC batched inserts), User ids
+ * from IDENTITY (one INSERT round trip per row, Hibernate cannot batch them).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class IdGenerationInsertBenchmark {
+
+    private static final int BATCH = 1000;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private TaskRepository taskRepository;
+    private UserRepository userRepository;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object insertTasksPooledLo() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            Task task = new Task();
+            task.setUserId(1L);
+            task.setTitle("created task " + sequence++);
+            task.setCompleted(false);
+            task.setCreatedAt(now);
+            tasks.add(task);
+        }
+        return transactionTemplate.execute(status -> taskRepository.saveAll(tasks));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object insertUsersIdentity() {
+        List<User> users = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            long n = sequence++;
+            User user = new User();
+            user.setEmail("user" + n + "@example.com");
+            user.setUsername("user" + n);
+            user.setPassword("{noop}secret");
+            users.add(user);
+        }
+        return transactionTemplate.execute(status -> userRepository.saveAll(users));
+    }
+}
@@ -0,0 +1,65 @@
+package com.todo.demo.benchmark;
+
+import com.todo.demo.model.User;
+import com.todo.demo.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//token issue and verification, "cached" goes through the claims cache, "uncached" parses and verifies every call
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private JwtService cachedService;
+    private JwtService uncachedService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedService = new JwtService(10_000, new SimpleMeterRegistry());
+        uncachedService = new JwtService(0, new SimpleMeterRegistry());
+        user = Fixtures.user();
+        token = cachedService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractEmailCached() {
+        return cachedService.extractEmail(token);
+    }
+
+    @Benchmark
+    public String extractEmailUncached() {
+        return uncachedService.extractEmail(token);
+    }
+
+    @Benchmark
+    public boolean isValidCached() {
+        return cachedService.isValid(token, user);
+    }
+
+    @Benchmark
+    public boolean isValidUncached() {
+        return uncachedService.isValid(token, user);
+    }
+}
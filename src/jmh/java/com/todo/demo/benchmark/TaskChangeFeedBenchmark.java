@@ -0,0 +1,145 @@
+package com.todo.demo.benchmark;
+
+import com.todo.demo.event.TaskChange;
+import com.todo.demo.event.TasksChangedEvent;
+import com.todo.demo.model.Task;
+import com.todo.demo.model.User;
+import com.todo.demo.repository.UserRepository;
+import com.todo.demo.service.JwtService;
+import com.todo.demo.service.TaskChangeFeed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fan-out latency of GET /tasks/changes: the given number of streams is open against the
+ * running application and each operation publishes one task change and waits until
+ * every stream has received it. The client connections live in the same JVM, so the
+ * number of subscribers is bounded by half the process file descriptor limit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class TaskChangeFeedBenchmark {
+
+    //streams opened at a time, so the server accept backlog is not overrun
+    private static final int CONNECT_BATCH = 500;
+
+    @Param({"1000", "8000"})
+    public int subscribers;
+
+    private ConfigurableApplicationContext context;
+    private ApplicationEventPublisher eventPublisher;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private final AtomicLong received = new AtomicLong();
+    private final Task task = Fixtures.task(1);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        eventPublisher = context;
+        TaskChangeFeed feed = context.getBean(TaskChangeFeed.class);
+
+        User user = Fixtures.user();
+        user.setId(null);
+        user = context.getBean(UserRepository.class).save(user);
+        String token = context.getBean(JwtService.class).generateToken(user);
+        String port = context.getEnvironment().getProperty("local.server.port");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tasks/changes"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+
+        //explicit executor: on small machines the default one starts a thread per response callback
+        clientExecutor = Executors.newFixedThreadPool(2);
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        for (int opened = 0; opened < subscribers; ) {
+            int batch = Math.min(CONNECT_BATCH, subscribers - opened);
+            for (int i = 0; i < batch; i++) {
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(new EventCounter()));
+            }
+            opened += batch;
+            awaitSubscribers(feed, opened);
+        }
+    }
+
+    private static void awaitSubscribers(TaskChangeFeed feed, int expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (feed.getSubscriberCount() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Only " + feed.getSubscriberCount() + " of " + expected
+                        + " streams opened");
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        httpClient.shutdownNow();
+        clientExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public long publishToAllSubscribers() {
+        long target = received.get() + subscribers;
+        eventPublisher.publishEvent(TasksChangedEvent.of(TaskChange.updated(task.getTitle(), task)));
+        while (received.get() < target) {
+            LockSupport.parkNanos(50_000);
+        }
+        return target;
+    }
+
+    private final class EventCounter implements Flow.Subscriber<String> {
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("data:")) {
+                received.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.todo.demo.benchmark;
+
+import com.todo.demo.model.CursorPage;
+import com.todo.demo.model.Task;
+import com.todo.demo.model.TaskView;
+import com.todo.demo.service.TaskCursor;
+import com.todo.demo.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same page of tasks read through /tasks/paginated (OFFSET plus count(*)) and
+ * /tasks/cursor (seek past the last id). Offset cost grows with the page number,
+ * keyset cost should stay flat.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@State(Scope.Benchmark)
+public class TaskCursorBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    //one full page past a million rows, so page 10000 exists
+    @Param({"1000100"})
+    public int taskCount;
+
+    @Param({"10", "1000", "10000"})
+    public int page;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        taskService = context.getBean(TaskService.class);
+        BenchmarkApplication.seedTasks(context, taskCount, 1000);
+        //seeded ids are 1..taskCount, so this cursor starts at the first row of the offset page
+        cursor = page == 0 ? null : TaskCursor.encode((long) page * PAGE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Task> offsetPage() {
+        return taskService.getAllTasks(page, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<TaskView> keysetPage() {
+        return taskService.getTasksAfter(cursor, PAGE_SIZE, null, null);
+    }
+}
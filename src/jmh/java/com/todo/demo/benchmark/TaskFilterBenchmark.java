@@ -0,0 +1,117 @@
+package com.todo.demo.benchmark;
+
+import com.todo.demo.model.Task;
+import com.todo.demo.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /tasks/filter for a user with 100000 tasks, with and without the composite indexes on
+ * (user_id, completed), (user_id, created_at) and (user_id, updated_at) from db/manual:
+ * "completedByUser" filters on completed and sorts by createdAt, "createdInRange"
+ * filters on a createdAt range. Each call asks for the next of the 10 users, since H2
+ * hands back the previous result when a query runs again unchanged. The setup prints the database's EXPLAIN of the
+ * equivalent SQL for both, and with indexes=true fails unless the plans use
+ * idx_task_user_completed or idx_task_user_created_at. Without them only the
+ * single-column indexes are left.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@State(Scope.Benchmark)
+public class TaskFilterBenchmark {
+
+    private static final int USER_COUNT = 10;
+    //the user whose queries are explained
+    private static final long USER_ID = 4;
+    private static final int PAGE_SIZE = 20;
+
+    //tasks created between these times, 20000 of them belong to each user
+    private static final LocalDateTime FROM = Fixtures.BASE_TIME.plusSeconds(400_000);
+    private static final LocalDateTime TO = Fixtures.BASE_TIME.plusSeconds(600_000);
+
+    private static final List<String> COMPOSITE_INDEXES =
+            List.of("idx_task_user_completed", "idx_task_user_created_at", "idx_task_user_updated_at");
+
+    @Param({"1000000"})
+    public int taskCount;
+
+    @Param({"true", "false"})
+    public boolean indexes;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private long calls;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        taskService = context.getBean(TaskService.class);
+        BenchmarkApplication.seedTasks(context, taskCount, USER_COUNT);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (!indexes) {
+            for (String index : COMPOSITE_INDEXES) {
+                jdbcTemplate.execute("DROP INDEX " + index);
+            }
+        }
+        //fresh statistics, so the planner knows user_id is selective and completed is not
+        jdbcTemplate.execute("ANALYZE");
+
+        explain(jdbcTemplate, "completedByUser", "SELECT * FROM task WHERE user_id = " + USER_ID
+                + " AND completed = TRUE ORDER BY created_at DESC, id DESC LIMIT " + PAGE_SIZE,
+                List.of("idx_task_user_completed", "idx_task_user_created_at"));
+        explain(jdbcTemplate, "createdInRange", "SELECT * FROM task WHERE user_id = " + USER_ID
+                + " AND created_at BETWEEN TIMESTAMP '" + FROM + "' AND TIMESTAMP '" + TO + "'"
+                + " ORDER BY created_at DESC, id DESC LIMIT " + PAGE_SIZE,
+                List.of("idx_task_user_created_at"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Task> completedByUser() {
+        return taskService.filterTasks(nextUser(), true, "createdAt", null, null, "createdAt,desc", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<Task> createdInRange() {
+        return taskService.filterTasks(nextUser(), null, "createdAt", FROM, TO, "createdAt,desc", 0, PAGE_SIZE);
+    }
+
+    private long nextUser() {
+        return calls++ % USER_COUNT + 1;
+    }
+
+    //the SQL mirrors what the specifications generate, with the parameters inlined
+    private void explain(JdbcTemplate jdbcTemplate, String query, String sql, List<String> expectedIndexes) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        System.out.println("EXPLAIN " + query + " (indexes=" + indexes + "):\n" + plan);
+        if (indexes && expectedIndexes.stream().noneMatch(plan.toLowerCase()::contains)) {
+            throw new IllegalStateException(query + " does not use any of " + expectedIndexes + ":\n" + plan);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.todo.demo.benchmark;
+
+import com.todo.demo.model.CompletionStatus;
+import com.todo.demo.model.Task;
+import com.todo.demo.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Completion-status grouping against the real service and repositories on an
+ * in-memory H2 database in MySQL mode. "groupInMemory" is the /tasks/grouped
+ * path (load every row, group in Java), "countWithGroupBy" is /tasks/grouped/counts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class TaskGroupingBenchmark {
+
+    @Param({"1000000"})
+    public int taskCount;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        taskService = context.getBean(TaskService.class);
+        BenchmarkApplication.seedTasks(context, taskCount, 1000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Task>> groupInMemory() {
+        return taskService.getGroupedTasksByCompletionStatus();
+    }
+
+    @Benchmark
+    public Map<CompletionStatus, Long> countWithGroupBy() {
+        return taskService.getTaskCountsByCompletionStatus();
+    }
+}
@@ -0,0 +1,118 @@
+package com.todo.demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todo.demo.json.TaskJsonWriter;
+import com.todo.demo.model.CursorPage;
+import com.todo.demo.model.Task;
+import com.todo.demo.model.TaskView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One cursor-page response body, written the way the controllers used to (ObjectMapper
+ * over a page of entities) and through TaskJsonWriter over projections. Run with
+ * -prof gc and compare gc.alloc.rate.norm, the bytes allocated per response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskJsonWriterBenchmark {
+
+    @Param({"20", "100"})
+    public int size;
+
+    private ObjectWriter pageWriter;
+    private TaskJsonWriter taskJsonWriter;
+    private CursorPage<Task> entityPage;
+    private CursorPage<TaskView> viewPage;
+    private int idAndTitle;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        pageWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructParametricType(CursorPage.class, Task.class));
+        taskJsonWriter = new TaskJsonWriter(objectMapper);
+
+        List<Task> tasks = Fixtures.tasks(size);
+        for (Task task : tasks) {
+            task.setUpdatedAt(task.getCreatedAt().plusNanos(123_000_000));
+        }
+        entityPage = new CursorPage<>(tasks, "MTAw");
+        viewPage = new CursorPage<>(tasks.stream().<TaskView>map(View::of).toList(), "MTAw");
+        idAndTitle = TaskJsonWriter.parseFields("id,title");
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws Exception {
+        return pageWriter.writeValueAsBytes(entityPage);
+    }
+
+    @Benchmark
+    public byte[] taskJsonWriter() {
+        return taskJsonWriter.writePage(viewPage, TaskJsonWriter.ALL_FIELDS);
+    }
+
+    @Benchmark
+    public byte[] taskJsonWriterIdAndTitle() {
+        return taskJsonWriter.writePage(viewPage, idAndTitle);
+    }
+
+    private record View(Long id, Long userId, String title, Boolean completed, LocalDateTime createdAt,
+                        LocalDateTime updatedAt, long version) implements TaskView {
+
+        static View of(Task task) {
+            return new View(task.getId(), task.getUserId(), task.getTitle(), task.getCompleted(),
+                    task.getCreatedAt(), task.getUpdatedAt(), task.getVersion());
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public Boolean getCompleted() {
+            return completed;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.todo.demo.benchmark;
+
+import com.todo.demo.event.TaskChange;
+import com.todo.demo.event.TasksChangedEvent;
+import com.todo.demo.model.Task;
+import com.todo.demo.search.SearchHit;
+import com.todo.demo.search.TaskTitleIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of /tasks/search against the in-memory title index, reported
+ * as percentiles (look at p0.99). Titles are 3-6 words drawn from a skewed vocabulary,
+ * so "commonWords" scores a large share of the tasks, "rareWords" a handful and
+ * "prefix" expands the last word to many terms; "commonWord" is a one-word query for
+ * the most common word. "applyImportChunk" is the index side of one import chunk:
+ * 1000 existing tasks renamed in a single event. The "importing" group runs
+ * commonWords while another thread applies import chunks back to back.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class TaskTitleSearchBenchmark {
+
+    private static final int VOCABULARY = 5000;
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param({"100000", "1000000"})
+    public int taskCount;
+
+    private TaskTitleIndex index;
+    private final List<TaskChange> renamed = new ArrayList<>(CHUNK_SIZE);
+    private final List<TaskChange> restored = new ArrayList<>(CHUNK_SIZE);
+    private boolean renamedNext = true;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new TaskTitleIndex();
+        List<TaskChange> batch = new ArrayList<>(CHUNK_SIZE);
+        for (long id = 1; id <= taskCount; id++) {
+            batch.add(TaskChange.created(task(id, title(new Random(id)))));
+            if (batch.size() == CHUNK_SIZE) {
+                index.onTasksChanged(new TasksChangedEvent(batch));
+                batch = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            index.onTasksChanged(new TasksChangedEvent(batch));
+        }
+
+        //ids spread over the whole table, so the merges land in the middle of the posting lists
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            long id = 1 + (long) i * (taskCount / CHUNK_SIZE);
+            String original = title(new Random(id));
+            String changed = title(new Random(-id));
+            renamed.add(TaskChange.updated(original, task(id, changed)));
+            restored.add(TaskChange.updated(changed, task(id, original)));
+        }
+    }
+
+    @Benchmark
+    public List<SearchHit> commonWords() {
+        return index.search("w1 w2", 20);
+    }
+
+    @Benchmark
+    public List<SearchHit> commonWord() {
+        return index.search("w1", 20);
+    }
+
+    @Benchmark
+    public List<SearchHit> rareWords() {
+        return index.search("w4000 w4999", 20);
+    }
+
+    @Benchmark
+    public List<SearchHit> prefix() {
+        return index.search("w3 w1", 20);
+    }
+
+    //alternates renaming and restoring, so the index looks the same every other operation
+    @Benchmark
+    public boolean applyImportChunk() {
+        index.onTasksChanged(new TasksChangedEvent(renamedNext ? renamed : restored));
+        renamedNext = !renamedNext;
+        return renamedNext;
+    }
+
+    @Benchmark
+    @Group("importing")
+    public List<SearchHit> importingSearch() {
+        return commonWords();
+    }
+
+    @Benchmark
+    @Group("importing")
+    public boolean importingApply() {
+        return applyImportChunk();
+    }
+
+    //3-6 words seeded by the caller, word k is picked with probability roughly proportional to 1/k
+    private static String title(Random random) {
+        int words = 3 + random.nextInt(4);
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                title.append(' ');
+            }
+            int word = (int) Math.pow(VOCABULARY, random.nextDouble());
+            title.append('w').append(word);
+        }
+        return title.toString();
+    }
+
+    private static Task task(long id, String title) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        return task;
+    }
+}
@@ -0,0 +1,84 @@
+package com.todo.demo.benchmark;
+
+import com.todo.demo.model.CompletionStatus;
+import com.todo.demo.model.CursorPage;
+import com.todo.demo.model.TaskView;
+import com.todo.demo.model.User;
+import com.todo.demo.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user task listing (/tasks/mine) with many users calling concurrently, each
+ * operation is a random user out of userCount. Compare runs with the same userCount
+ * and different tasksPerUser against runs with a larger table: the cost should follow
+ * tasksPerUser, not the table size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@Threads(8)
+@State(Scope.Benchmark)
+public class UserTaskListingBenchmark {
+
+    @Param({"100000"})
+    public int userCount;
+
+    @Param({"5", "20"})
+    public int tasksPerUser;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        taskService = context.getBean(TaskService.class);
+        BenchmarkApplication.seedTasks(context, userCount * tasksPerUser, userCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<TaskView> myTasksFirstPage() {
+        return taskService.getTasksOwnedBy(randomUser(), null, 20, null);
+    }
+
+    @Benchmark
+    public CursorPage<TaskView> myPendingTasks() {
+        return taskService.getTasksOwnedBy(randomUser(), null, 20, false);
+    }
+
+    @Benchmark
+    public Map<CompletionStatus, Long> myTaskCounts() {
+        return taskService.getTaskCountsOwnedBy(randomUser());
+    }
+
+    private User randomUser() {
+        User user = new User();
+        user.setId(ThreadLocalRandom.current().nextLong(1, userCount + 1));
+        return user;
+    }
+}
@@ -0,0 +1,12 @@
+package com.todo.demo.cache;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record CacheStats(String name, int size, int maxSize, long hits, long misses, long evictions) {
+
+    @JsonProperty
+    public double hitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
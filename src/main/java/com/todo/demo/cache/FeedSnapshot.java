@@ -0,0 +1,5 @@
+package com.todo.demo.cache;
+
+//one download of the external task feed, kept as the ready-to-send JSON body
+public record FeedSnapshot(byte[] body, int count, long createdAt) {
+}
@@ -0,0 +1,145 @@
+package com.todo.demo.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Snapshot of the external task feed shared by all callers of GET /tasks/all.
+ * A snapshot younger than ttl is served as is; up to stale-ms past ttl it is still
+ * served while one background refresh replaces it. Without a usable snapshot the
+ * callers wait, and concurrent callers share a single in-flight download.
+ */
+@Component
+public class FeedSnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedSnapshotCache.class);
+
+    private final long ttlMillis;
+    private final long staleMillis;
+
+    private volatile FeedSnapshot snapshot;
+    private final AtomicReference<CompletableFuture<FeedSnapshot>> inFlight = new AtomicReference<>();
+    private final ExecutorService refreshExecutor =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("feed-refresh-"));
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Timer refreshSuccess;
+    private final Timer refreshFailure;
+
+    public FeedSnapshotCache(@Value("${task-feed.snapshot.ttl-ms:30000}") long ttlMillis,
+                             @Value("${task-feed.snapshot.stale-ms:300000}") long staleMillis,
+                             MeterRegistry meterRegistry) {
+        this.ttlMillis = ttlMillis;
+        this.staleMillis = staleMillis;
+        this.hits = requests(meterRegistry, "hit");
+        this.staleHits = requests(meterRegistry, "stale");
+        this.misses = requests(meterRegistry, "miss");
+        this.coalesced = Counter.builder("task.feed.snapshot.coalesced")
+                .description("Callers that waited on a download started by another caller")
+                .register(meterRegistry);
+        this.refreshSuccess = refreshTimer(meterRegistry, "success");
+        this.refreshFailure = refreshTimer(meterRegistry, "failure");
+        Gauge.builder("task.feed.snapshot.age", this, cache -> cache.ageMillis() / 1000.0)
+                .description("Age of the served feed snapshot")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    //current snapshot, loading it through loader when there is none or it is too old to serve
+    public FeedSnapshot get(Callable<FeedSnapshot> loader) {
+        FeedSnapshot current = snapshot;
+        long age = current == null ? Long.MAX_VALUE : System.currentTimeMillis() - current.createdAt();
+        if (age < ttlMillis) {
+            hits.increment();
+            return current;
+        }
+        if (age < ttlMillis + staleMillis) {
+            staleHits.increment();
+            refresh(loader);
+            return current;
+        }
+        misses.increment();
+        try {
+            return refresh(loader).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    //start a download unless one is already running, either way return the running one
+    private CompletableFuture<FeedSnapshot> refresh(Callable<FeedSnapshot> loader) {
+        CompletableFuture<FeedSnapshot> mine = new CompletableFuture<>();
+        CompletableFuture<FeedSnapshot> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            coalesced.increment();
+            return running;
+        }
+        refreshExecutor.execute(() -> {
+            Timer.Sample sample = Timer.start();
+            //inFlight is cleared before mine completes: a caller woken by the completion
+            //must be able to start the next refresh instead of joining a finished one
+            try {
+                FeedSnapshot loaded = loader.call();
+                snapshot = loaded;
+                sample.stop(refreshSuccess);
+                inFlight.compareAndSet(mine, null);
+                mine.complete(loaded);
+            } catch (Throwable e) {
+                sample.stop(refreshFailure);
+                logger.warn("Refreshing the task feed snapshot failed: {}", e.getMessage());
+                inFlight.compareAndSet(mine, null);
+                mine.completeExceptionally(e);
+            }
+        });
+        return mine;
+    }
+
+    private long ageMillis() {
+        FeedSnapshot current = snapshot;
+        return current == null ? 0 : System.currentTimeMillis() - current.createdAt();
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("task.feed.snapshot.requests")
+                .description("GET /tasks/all lookups by snapshot state")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Timer refreshTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("task.feed.snapshot.refresh")
+                .description("Download and serialisation of the task feed snapshot")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,113 @@
+package com.todo.demo.cache;
+
+import com.todo.demo.model.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-through cache of tasks by id. Writers evict the ids they touch; inside a
+ * transaction the eviction is repeated after commit. Every eviction also bumps a
+ * generation for the id (striped, so memory stays fixed), and a reader only caches
+ * a row if no eviction happened since it started loading it, so a load that read
+ * the row before a write can never put the old state back after that write.
+ */
+@Component
+public class TaskCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final ExpiringCache<Long, Task> cache;
+
+    //guarded by this, so a generation check and the put it allows cannot interleave with an eviction
+    private final long[] generations = new long[GENERATION_STRIPES];
+
+    public TaskCache(@Value("${task-cache.enabled:true}") boolean enabled,
+                     @Value("${task-cache.max-size:10000}") int maxSize,
+                     @Value("${task-cache.ttl-ms:300000}") long ttlMillis) {
+        this.enabled = enabled;
+        this.ttlMillis = ttlMillis;
+        this.cache = new ExpiringCache<>("tasks", enabled ? maxSize : 0);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Task get(Long id) {
+        return enabled ? cache.get(id) : null;
+    }
+
+    //stamp to take before loading a task from the database, passed back to put
+    public synchronized long beginLoad(Long id) {
+        return generations[stripe(id)];
+    }
+
+    //cache a loaded task, unless its id was evicted after beginLoad returned loadStamp
+    public synchronized void put(Task task, long loadStamp) {
+        if (enabled && task.getId() != null && generations[stripe(task.getId())] == loadStamp) {
+            cache.put(task.getId(), task, System.currentTimeMillis() + ttlMillis);
+        }
+    }
+
+    //cache the state a writer has just committed; loads still in flight for the id are invalidated,
+    //and a newer version cached by a concurrent writer is kept
+    public synchronized void putWritten(Task task) {
+        if (!enabled || task.getId() == null) {
+            return;
+        }
+        generations[stripe(task.getId())]++;
+        Task cached = cache.get(task.getId());
+        if (cached == null || cached.getVersion() <= task.getVersion()) {
+            cache.put(task.getId(), task, System.currentTimeMillis() + ttlMillis);
+        }
+    }
+
+    public void evict(Long id) {
+        evictAll(List.of(id));
+    }
+
+    public void evictAll(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        invalidate(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> pending = List.copyOf(ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(pending);
+                }
+            });
+        }
+    }
+
+    private synchronized void invalidate(Collection<Long> ids) {
+        for (Long id : ids) {
+            generations[stripe(id)]++;
+            cache.invalidate(id);
+        }
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < generations.length; i++) {
+            generations[i]++;
+        }
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+}
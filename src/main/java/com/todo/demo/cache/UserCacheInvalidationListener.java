@@ -0,0 +1,21 @@
+package com.todo.demo.cache;
+
+import com.todo.demo.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+//JPA entity listener, every write to the user table drops the cached principal
+public class UserCacheInvalidationListener {
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        userPrincipalCache.evict(user.getEmail());
+    }
+}
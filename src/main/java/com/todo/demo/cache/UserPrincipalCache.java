@@ -0,0 +1,42 @@
+package com.todo.demo.cache;
+
+import com.todo.demo.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticated principals keyed by email, so the JWT filter does not hit the
+ * user table on every request. The TTL must not exceed the access token lifetime.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final ExpiringCache<String, User> cache;
+    private final long ttlMillis;
+
+    public UserPrincipalCache(@Value("${user-cache.max-size:10000}") int maxSize,
+                              @Value("${user-cache.ttl-ms:3600000}") long ttlMillis) {
+        this.cache = new ExpiringCache<>("userPrincipals", maxSize);
+        this.ttlMillis = ttlMillis;
+    }
+
+    public User get(String email) {
+        return cache.get(email);
+    }
+
+    public void put(User user) {
+        if (user.getEmail() != null) {
+            cache.put(user.getEmail(), user, System.currentTimeMillis() + ttlMillis);
+        }
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -1,14 +1,71 @@
 package com.todo.demo.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.cache.CacheConfig;
+import org.apache.hc.client5.http.impl.cache.CachingHttpClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
+@EnableConfigurationProperties(TodoApiHttpProperties.class)
 public class AppConfig {
 
+    //pooled Apache client with timeouts, idle eviction, gzip and an ETag/Last-Modified aware cache
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient todoApiHttpClient(TodoApiHttpProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.maxConnectionsTotal())
+                .setMaxConnPerRoute(properties.maxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.connectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.readTimeout()))
+                        .build())
+                .build();
+
+        HttpClientBuilder builder;
+        if (properties.conditionalCache()) {
+            //unchanged feeds are revalidated with If-None-Match/If-Modified-Since and served from the cached copy on 304
+            builder = CachingHttpClients.custom()
+                    .setCacheConfig(CacheConfig.custom()
+                            .setMaxCacheEntries(properties.cacheMaxEntries())
+                            .setMaxObjectSize(properties.cacheMaxObjectSize().toBytes())
+                            .setSharedCache(false)
+                            .build());
+        } else {
+            builder = HttpClients.custom();
+        }
+
+        builder.setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.connectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.readTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.idleTimeout()));
+        if (!properties.compression()) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient todoApiHttpClient,
+                                     TodoApiHttpProperties properties) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(todoApiHttpClient))
+                .additionalInterceptors(new BulkheadInterceptor(properties.maxConcurrentCalls(), properties.bulkheadTimeout()))
+                .build();
     }
 }
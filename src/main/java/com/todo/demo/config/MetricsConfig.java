@@ -0,0 +1,50 @@
+package com.todo.demo.config;
+
+import com.todo.demo.cache.CacheStats;
+import com.todo.demo.cache.TaskCache;
+import com.todo.demo.cache.UserPrincipalCache;
+import com.todo.demo.service.JwtService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+@Configuration
+public class MetricsConfig {
+
+    //in-memory cache counters under the standard cache.* meter names, tagged with the cache name
+    @Bean
+    public MeterBinder cacheMetrics(JwtService jwtService, UserPrincipalCache userPrincipalCache, TaskCache taskCache) {
+        List<Supplier<CacheStats>> caches = List.of(
+                () -> jwtService.getClaimsCache().stats(),
+                userPrincipalCache::stats,
+                taskCache::stats);
+        return registry -> {
+            for (Supplier<CacheStats> cache : caches) {
+                String name = cache.get().name();
+                Gauge.builder("cache.size", cache, stats -> stats.get().size())
+                        .tag("cache", name)
+                        .register(registry);
+                cacheGets(registry, name, cache, stats -> stats.get().hits(), "hit");
+                cacheGets(registry, name, cache, stats -> stats.get().misses(), "miss");
+                FunctionCounter.builder("cache.evictions", cache, stats -> stats.get().evictions())
+                        .tag("cache", name)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static void cacheGets(MeterRegistry registry, String name, Supplier<CacheStats> cache,
+                                  ToDoubleFunction<Supplier<CacheStats>> value, String result) {
+        FunctionCounter.builder("cache.gets", cache, value)
+                .tag("cache", name)
+                .tag("result", result)
+                .register(registry);
+    }
+}
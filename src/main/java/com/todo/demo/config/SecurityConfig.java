@@ -1,6 +1,7 @@
 package com.todo.demo.config;
 
 import com.todo.demo.filter.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,8 +34,12 @@ public class SecurityConfig {
         return http.csrf(AbstractHttpConfigurer::disable)
                 .cors(withDefaults())
                 .authorizeHttpRequests(
-                        req->req.requestMatchers("/login/**","/register/**",
-                                        "/swagger-ui/index.html", "/swagger-ui/**", "/v3/api-docs/**")
+                        //streamed responses (/tasks/changes, /tasks/export) end with an async dispatch,
+                        //the request itself was already authorized when the stream was opened
+                        req->req.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                                .requestMatchers("/login/**","/register/**","/refresh/**","/error",
+                                        "/swagger-ui/index.html", "/swagger-ui/**", "/v3/api-docs/**",
+                                        "/actuator/health", "/actuator/prometheus")
                                 .permitAll()
                                 .requestMatchers("/tasks/**").authenticated()
                                 .anyRequest()
@@ -0,0 +1,24 @@
+package com.todo.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+//HTTP client settings for calls to the external todo API
+@ConfigurationProperties(prefix = "todo-api.http")
+public record TodoApiHttpProperties(
+        @DefaultValue("100") int maxConnectionsTotal,
+        @DefaultValue("20") int maxConnectionsPerRoute,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("30s") Duration readTimeout,
+        @DefaultValue("2s") Duration connectionRequestTimeout,
+        @DefaultValue("30s") Duration idleTimeout,
+        @DefaultValue("true") boolean compression,
+        @DefaultValue("20") int maxConcurrentCalls,
+        @DefaultValue("1s") Duration bulkheadTimeout,
+        @DefaultValue("true") boolean conditionalCache,
+        @DefaultValue("16") int cacheMaxEntries,
+        @DefaultValue("8MB") DataSize cacheMaxObjectSize) {
+}
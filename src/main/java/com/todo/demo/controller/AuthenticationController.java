@@ -1,6 +1,7 @@
 package com.todo.demo.controller;
 
 import com.todo.demo.model.AuthenticationResponse;
+import com.todo.demo.model.RefreshRequest;
 import com.todo.demo.model.User;
 import com.todo.demo.service.AuthenticationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -34,4 +35,14 @@ public class AuthenticationController {
     public ResponseEntity<AuthenticationResponse> login(@RequestBody User request){
         return ResponseEntity.ok(authenticationService.authenticate(request));
     }
+
+    @Operation(
+            summary = "Refresh access token",
+            description = "This endpoint exchanges a refresh token for a new access token without a password check. "
+                    + "The refresh token is rotated: use the one returned in the response next time."
+    )
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthenticationResponse> refresh(@RequestBody RefreshRequest request){
+        return ResponseEntity.ok(authenticationService.refresh(request.getRefreshToken()));
+    }
 }
@@ -0,0 +1,42 @@
+package com.todo.demo.controller;
+
+import com.todo.demo.cache.CacheStats;
+import com.todo.demo.cache.TaskCache;
+import com.todo.demo.cache.UserPrincipalCache;
+import com.todo.demo.service.JwtService;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/caches")
+public class CacheController {
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    //Get size, hit/miss and eviction counters of the in-memory caches
+    @Operation(
+            summary = "Get cache statistics",
+            description = "Retrieve size, hit ratio, hit, miss and eviction counters for the in-memory caches."
+    )
+    @GetMapping
+    public ResponseEntity<List<CacheStats>> getCacheStats() {
+        return ResponseEntity.ok(List.of(
+                jwtService.getClaimsCache().stats(),
+                userPrincipalCache.stats(),
+                taskCache.stats()
+        ));
+    }
+}
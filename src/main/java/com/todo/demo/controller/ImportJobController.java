@@ -0,0 +1,73 @@
+package com.todo.demo.controller;
+
+import com.todo.demo.model.ImportJobProgress;
+import com.todo.demo.model.ImportMode;
+import com.todo.demo.service.ImportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/tasks/import-jobs")
+public class ImportJobController {
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    //start an asynchronous fetch-and-store import
+    @Operation(
+            summary = "Start an import job",
+            description = "Queue a background job that fetches tasks from the external API and stores them in batches. "
+                    + "Mode FULL writes every task, DELTA writes only new and changed tasks. Returns the job ID immediately.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Import job accepted"),
+                    @ApiResponse(responseCode = "429", description = "Too many import jobs queued")
+            })
+    @PostMapping
+    public ResponseEntity<ImportJobProgress> submitImportJob(@RequestParam(defaultValue = "FULL") ImportMode mode) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.submit(mode));
+    }
+
+    //poll the progress of an import job
+    @Operation(
+            summary = "Get import job progress",
+            description = "Retrieve status, rows done/total, rows per second and errors of an import job.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully fetched the job progress"),
+                    @ApiResponse(responseCode = "404", description = "Import job not found")
+            })
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobProgress> getImportJob(@PathVariable String id) {
+        return ResponseEntity.ok(importJobService.getProgress(id));
+    }
+
+    //cancel an import job, committed batches are kept
+    @Operation(
+            summary = "Cancel an import job",
+            description = "Stop a queued or running import job after its current batch. Already committed batches are kept.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Cancellation requested"),
+                    @ApiResponse(responseCode = "404", description = "Import job not found")
+            })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ImportJobProgress> cancelImportJob(@PathVariable String id) {
+        return ResponseEntity.ok(importJobService.cancel(id));
+    }
+
+    //resume a failed or cancelled import job from its last committed batch
+    @Operation(
+            summary = "Resume an import job",
+            description = "Restart a failed, cancelled or interrupted import job from its last committed batch.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Import job resumed"),
+                    @ApiResponse(responseCode = "404", description = "Import job not found"),
+                    @ApiResponse(responseCode = "429", description = "Too many import jobs queued")
+            })
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<ImportJobProgress> resumeImportJob(@PathVariable String id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.resume(id));
+    }
+}
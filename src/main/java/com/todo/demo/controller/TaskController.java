@@ -1,15 +1,39 @@
 package com.todo.demo.controller;
 
+import com.todo.demo.cache.FeedSnapshot;
+import com.todo.demo.exception.PreconditionFailedException;
+import com.todo.demo.json.TaskJsonWriter;
+import com.todo.demo.model.BatchItemResult;
+import com.todo.demo.model.BatchRequest;
+import com.todo.demo.model.CompletionStatus;
+import com.todo.demo.model.ImportResult;
 import com.todo.demo.model.Task;
+import com.todo.demo.model.TaskPatch;
+import com.todo.demo.model.User;
+import com.todo.demo.service.TaskChangeFeed;
 import com.todo.demo.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -20,47 +44,94 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
-    //fetch task from external API
+    @Autowired
+    private TaskJsonWriter taskJsonWriter;
+
+    @Autowired
+    private TaskChangeFeed taskChangeFeed;
+
+    @Value("${task.export.timeout-ms:-1}")
+    private long exportTimeoutMs;
+
+    //fetch task from external API, served from a shared snapshot that is refreshed in the background
     @Operation(
             summary = "Fetch tasks from external API",
-            description = "Retrieve a list of tasks from an external API.",
+            description = "Retrieve a list of tasks from an external API. The list is served from an in-memory snapshot "
+                    + "that concurrent callers share and that is refreshed in the background once it is older than the TTL.",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Successfully fetched tasks"),
+                    @ApiResponse(responseCode = "200", description = "Successfully fetched tasks",
+                            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = Task.class)))),
                     @ApiResponse(responseCode = "204", description = "No content, no tasks found"),
                     @ApiResponse(responseCode = "500", description = "Internal server error")
             })
     @GetMapping("/all")
-    public ResponseEntity<List<Task>> getTasksFromAPI() {
+    public ResponseEntity<byte[]> getTasksFromAPI() {
         try {
-            List<Task> tasks = taskService.fetchTasksFromExternalAPI();
-            if (tasks.isEmpty()) {
+            FeedSnapshot snapshot = taskService.getExternalTasksSnapshot();
+            if (snapshot.count() == 0) {
                 return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
             }
-            return ResponseEntity.ok(tasks);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(snapshot.body());
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
     //fetch task from external API and store it into database
     @Operation(
             summary = "Fetch and store tasks",
-            description = "Fetch tasks from an external API and store them in the database.",
+            description = "Fetch tasks from an external API and store them in the database in JDBC batches, reporting rows inserted, updated and skipped.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Tasks successfully fetched and stored"),
                     @ApiResponse(responseCode = "500", description = "Internal server error")
             })
     @GetMapping("/fetch-and-store")
-    public ResponseEntity<String> fetchAndStoreTasks() {
+    public ResponseEntity<ImportResult> fetchAndStoreTasks() {
         try {
-            String response = taskService.fetchAndStoreTasksFromExternalAPI();
-            if (response == null || response.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to fetch and store tasks.");
+            ImportResult result = taskService.fetchAndStoreTasksFromExternalAPI();
+            if (result == null) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
             }
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(result);
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred while fetching and storing tasks.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    //stream tasks from external API into the database without loading the whole feed
+    @Operation(
+            summary = "Stream and store tasks",
+            description = "Read the external task feed as a stream and store it in bounded batches, keeping memory flat regardless of feed size.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks successfully streamed and stored"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @GetMapping("/fetch-and-store/stream")
+    public ResponseEntity<ImportResult> streamAndStoreTasks() {
+        ImportResult result = taskService.streamAndStoreTasksFromExternalAPI();
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    //delta-sync tasks from external API, writing only inserts and real changes
+    @Operation(
+            summary = "Delta-sync tasks",
+            description = "Stream the external task feed and write only new tasks and tasks whose content changed. "
+                    + "Existing tasks keep createdAt, updatedAt is set only on real changes.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks successfully synced, with inserted/updated/unchanged counts"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @GetMapping("/sync")
+    public ResponseEntity<ImportResult> syncTasks() {
+        ImportResult result = taskService.syncTasksFromExternalAPI();
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
+        return ResponseEntity.ok(result);
     }
 
     //Get all stored tasks from database
@@ -85,6 +156,24 @@ public class TaskController {
         }
     }
 
+    //Export all stored tasks as a stream of newline-delimited JSON
+    @Operation(
+            summary = "Export all tasks",
+            description = "Stream every stored task as newline-delimited JSON (application/x-ndjson) without building the full list in memory.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks streamed successfully"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks(WebRequest request) {
+        //a full export can outlast the global async timeout, so only this request gets its own
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeoutMs);
+        StreamingResponseBody body = out -> taskService.exportAll(out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     //Implement pagination for fetching stored tasks.
     @Operation(
             summary = "Get paginated tasks",
@@ -100,55 +189,347 @@ public class TaskController {
         return ResponseEntity.ok(taskService.getAllTasks(page, size));
     }
 
+    //Keyset (cursor) pagination for fetching stored tasks, no OFFSET and no count query.
+    @Operation(
+            summary = "Get tasks by cursor",
+            description = "Fetch tasks ordered by ID after an opaque cursor, optionally filtered by user and completion status. "
+                    + "Pass the returned nextCursor to get the following page. fields=id,title limits each task to the listed fields.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or unknown field"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @GetMapping("/cursor")
+    public ResponseEntity<byte[]> getTasksByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) String fields) {
+        int selected = TaskJsonWriter.parseFields(fields);
+        return json(taskJsonWriter.writePage(taskService.getTasksAfter(cursor, size, userId, completed), selected));
+    }
+
+    //Keyset pagination over the tasks of the authenticated user.
+    @Operation(
+            summary = "Get my tasks",
+            description = "Fetch the tasks owned by the authenticated user, ordered by ID after an opaque cursor "
+                    + "and optionally filtered by completion status. fields=id,title limits each task to the listed fields.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or unknown field"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @GetMapping("/mine")
+    public ResponseEntity<byte[]> getMyTasks(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) String fields) {
+        int selected = TaskJsonWriter.parseFields(fields);
+        return json(taskJsonWriter.writePage(taskService.getTasksOwnedBy(user, cursor, size, completed), selected));
+    }
+
+    //Stream task changes as server-sent events instead of polling for them
+    @Operation(
+            summary = "Stream task changes",
+            description = "Server-sent event stream with one event per created, updated or deleted task, "
+                    + "data {\"type\":\"UPDATED\",\"taskId\":1,\"task\":{...}}. A reconnecting client sends the id of the "
+                    + "last event it received as Last-Event-ID and gets the changes it missed from an in-memory buffer. "
+                    + "When those are no longer buffered, or the client falls that far behind, a reset event is sent and "
+                    + "the stream is closed; the client should reload its tasks and then reconnect with the reset event's id.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Event stream opened"),
+                    @ApiResponse(responseCode = "503", description = "Too many open streams on this server")
+            })
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return taskChangeFeed.subscribe(lastEventId);
+    }
+
+    //Count the authenticated user's tasks per completion status
+    @Operation(
+            summary = "Get my task counts",
+            description = "Retrieve the number of COMPLETED, PENDING and UNKNOWN tasks owned by the authenticated user.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully counted tasks"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @GetMapping("/mine/counts")
+    public Map<CompletionStatus, Long> getMyTaskCounts(@AuthenticationPrincipal User user) {
+        return taskService.getTaskCountsOwnedBy(user);
+    }
+
+    //Get one task of the authenticated user by ID
+    @Operation(
+            summary = "Get my task by ID",
+            description = "Retrieve a task owned by the authenticated user. Tasks of other users are reported as not found. "
+                    + "fields=id,title limits the response to the listed fields.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully fetched the task",
+                            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = Task.class))),
+                    @ApiResponse(responseCode = "304", description = "Task unchanged since the given ETag"),
+                    @ApiResponse(responseCode = "400", description = "Unknown field"),
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @GetMapping("/mine/{id}")
+    public ResponseEntity<byte[]> getMyTask(@AuthenticationPrincipal User user, @PathVariable Long id,
+                                            @RequestParam(required = false) String fields, WebRequest request) {
+        int selected = TaskJsonWriter.parseFields(fields);
+        Task task = taskService.getTaskOwnedBy(user, id);
+        String etag = etagOf(task, selected);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON)
+                .body(taskJsonWriter.writeTask(task, selected));
+    }
+
+    //Filter stored tasks by user, completion status and date range using the task table indexes
+    @Operation(
+            summary = "Filter tasks",
+            description = "Fetch tasks filtered by user, completion status and a createdAt/updatedAt range, "
+                    + "sorted by id, createdAt or updatedAt (e.g. sort=createdAt,desc).",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid filter or sort"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @GetMapping("/filter")
+    public ResponseEntity<Page<Task>> filterTasks(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(defaultValue = "createdAt") String dateField,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(taskService.filterTasks(userId, completed, dateField, from, to, sort, page, size));
+    }
+
+    //Search tasks by words in their title
+    @Operation(
+            summary = "Search tasks by title",
+            description = "Full-text search over task titles. Every word matches exactly and the last word also as a prefix; "
+                    + "results are ranked by relevance.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Search results, best match first"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @GetMapping("/search")
+    public ResponseEntity<List<Task>> searchTasks(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(taskService.searchTasks(query, limit));
+    }
+
     //Get task by ID to retrieve task details from the database.
     @Operation(
             summary = "Get task by ID",
-            description = "Retrieve a task from the database by its ID.",
+            description = "Retrieve a task from the database by its ID. The task version is returned as the ETag "
+                    + "and a matching If-None-Match header is answered with 304 Not Modified. "
+                    + "fields=id,title limits the response to the listed fields, the ETag then also names the selection.",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Successfully fetched the task"),
+                    @ApiResponse(responseCode = "200", description = "Successfully fetched the task",
+                            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = Task.class))),
+                    @ApiResponse(responseCode = "304", description = "Task unchanged since the given ETag"),
+                    @ApiResponse(responseCode = "400", description = "Unknown field"),
                     @ApiResponse(responseCode = "404", description = "Task not found"),
                     @ApiResponse(responseCode = "500", description = "Internal server error")
             })
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getTaskById(@PathVariable Long id, @RequestParam(required = false) String fields,
+                                              WebRequest request) {
+        int selected = TaskJsonWriter.parseFields(fields);
         Task task = taskService.getTaskById(id);
-        return ResponseEntity.ok(task);
+        String etag = etagOf(task, selected);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON)
+                .body(taskJsonWriter.writeTask(task, selected));
     }
 
     //Update task details using an ID.
     @Operation(
             summary = "Update task details",
-            description = "Update the details of an existing task by its ID.",
+            description = "Update the details of an existing task by its ID. When an If-Match header is sent "
+                    + "the update only succeeds if the task still has that ETag.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Successfully updated the task"),
                     @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "412", description = "Task was modified since the given ETag"),
                     @ApiResponse(responseCode = "500", description = "Internal server error")
             })
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task updatedTask) {
-        Task updated = taskService.updateTask(id, updatedTask);
-        return ResponseEntity.ok(updated);
+    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task updatedTask,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Task updated = taskService.updateTask(id, updatedTask, parseIfMatch(id, ifMatch));
+        return ResponseEntity.ok().eTag(etagOf(updated)).body(updated);
+    }
+
+    //Partially update a task, only the fields present in the body are written.
+    @Operation(
+            summary = "Patch a task",
+            description = "Update only the given fields of a task without loading it first. "
+                    + "Honours If-Match like PUT.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully patched the task"),
+                    @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "412", description = "Task was modified since the given ETag"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @PatchMapping("/{id}")
+    public ResponseEntity<Task> patchTask(@PathVariable Long id, @RequestBody TaskPatch patch,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Task patched = taskService.patchTask(id, patch, parseIfMatch(id, ifMatch));
+        return ResponseEntity.ok().eTag(etagOf(patched)).body(patched);
+    }
+
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static String etagOf(Task task) {
+        return "\"" + task.getVersion() + "\"";
+    }
+
+    //a field selection is a different representation, so its ETag carries the field mask after the version
+    private static String etagOf(Task task, int fields) {
+        if (fields == TaskJsonWriter.ALL_FIELDS) {
+            return etagOf(task);
+        }
+        return "\"" + task.getVersion() + "-" + Integer.toHexString(fields) + "\"";
+    }
+
+    //expected version from an If-Match header, null when absent or "*"
+    private static Long parseIfMatch(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        //an ETag taken from a field selection still names the version it was read at
+        int mask = value.indexOf('-');
+        if (mask > 0) {
+            value = value.substring(0, mask);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException(id);
+        }
     }
 
     //Delete a task from the database using an ID.
     @Operation(
             summary = "Delete a task",
-            description = "Delete a task from the database using its ID.",
+            description = "Delete a task from the database using its ID. When an If-Match header is sent "
+                    + "the task is only deleted if it still has that ETag.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Successfully deleted the task"),
                     @ApiResponse(responseCode = "404", description = "Task not found"),
+                    @ApiResponse(responseCode = "412", description = "Task was modified since the given ETag"),
                     @ApiResponse(responseCode = "500", description = "Internal server error")
             })
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteTask(@PathVariable Long id) {
+    public ResponseEntity<String> deleteTask(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        return ResponseEntity.ok(taskService.deleteTask(id));
+        return ResponseEntity.ok(taskService.deleteTask(id, parseIfMatch(id, ifMatch)));
+    }
+
+    //Create a task owned by the authenticated user
+    @Operation(
+            summary = "Create a task",
+            description = "Create a task owned by the authenticated user. The ID is generated by the server; "
+                    + "IDs in the request body are ignored.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Task created"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @PostMapping
+    public ResponseEntity<Task> createTask(@AuthenticationPrincipal User user, @RequestBody Task request) {
+        Task created = taskService.createTask(user, request);
+        return ResponseEntity.created(URI.create("/tasks/" + created.getId()))
+                .eTag(etagOf(created))
+                .body(created);
+    }
+
+    //Create many tasks of the authenticated user in one request
+    @Operation(
+            summary = "Batch create tasks",
+            description = "Create up to 1000 tasks owned by the authenticated user, inserted in JDBC batches. "
+                    + "Returns the created tasks in request order.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Tasks created"),
+                    @ApiResponse(responseCode = "400", description = "Too many tasks in one batch"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @PostMapping("/batch")
+    public ResponseEntity<List<Task>> createTasks(@AuthenticationPrincipal User user, @RequestBody List<Task> requests) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTasks(user, requests));
+    }
+
+    //Mark many tasks completed or pending in one request
+    @Operation(
+            summary = "Batch complete tasks",
+            description = "Set the completion status of many tasks with a single UPDATE. Returns an outcome per ID.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Per-ID outcomes (UPDATED or NOT_FOUND)"),
+                    @ApiResponse(responseCode = "400", description = "Too many IDs in one batch"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @PostMapping("/batch/complete")
+    public ResponseEntity<List<BatchItemResult>> completeTasks(@RequestBody BatchRequest request) {
+        Boolean completed = request.getCompleted() != null ? request.getCompleted() : Boolean.TRUE;
+        return ResponseEntity.ok(taskService.completeTasks(request.getIds(), completed));
+    }
+
+    //Apply partial updates to many tasks in one request
+    @Operation(
+            summary = "Batch update tasks",
+            description = "Apply a list of partial updates (id plus the fields to change) in one transaction. Returns an outcome per ID.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Per-ID outcomes (UPDATED or NOT_FOUND)"),
+                    @ApiResponse(responseCode = "400", description = "Too many patches in one batch"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @PatchMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> patchTasks(@RequestBody List<TaskPatch> patches) {
+        return ResponseEntity.ok(taskService.patchTasks(patches));
+    }
+
+    //Delete many tasks in one request
+    @Operation(
+            summary = "Batch delete tasks",
+            description = "Delete many tasks with a single DELETE. Returns an outcome per ID.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Per-ID outcomes (DELETED or NOT_FOUND)"),
+                    @ApiResponse(responseCode = "400", description = "Too many IDs in one batch"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @PostMapping("/batch/delete")
+    public ResponseEntity<List<BatchItemResult>> deleteTasks(@RequestBody BatchRequest request) {
+        return ResponseEntity.ok(taskService.deleteTasks(request.getIds()));
     }
 
     //Get grouped tasks by completion status to retrieve tasks grouped into completed and pending categories
     @Operation(
             summary = "Get grouped tasks by completion status",
-            description = "Retrieve tasks grouped into completed and pending categories based on their completion status.",
+            description = "Retrieve tasks grouped into completed and pending categories based on their completion status. "
+                    + "Tasks without a completion flag are listed under false (pending) here, while /tasks/grouped/counts "
+                    + "and /tasks/grouped/{status} report them separately as UNKNOWN.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Successfully grouped tasks by completion status"),
                     @ApiResponse(responseCode = "500", description = "Internal server error")
@@ -157,4 +538,37 @@ public class TaskController {
     public Map<Boolean, List<Task>> getGroupedTasks() {
         return taskService.getGroupedTasksByCompletionStatus();
     }
+
+    //Count tasks per completion status, aggregated in the database
+    @Operation(
+            summary = "Get task counts by completion status",
+            description = "Retrieve the number of COMPLETED, PENDING and UNKNOWN (no completion flag) tasks using a single GROUP BY query.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully counted tasks by completion status"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @GetMapping("/grouped/counts")
+    public Map<CompletionStatus, Long> getGroupedTaskCounts() {
+        return taskService.getTaskCountsByCompletionStatus();
+    }
+
+    //Get the tasks of one completion-status group page by page
+    @Operation(
+            summary = "Get tasks of one completion status group",
+            description = "Retrieve the tasks of a COMPLETED, PENDING or UNKNOWN group as read-only projections, paged by an opaque cursor. "
+                    + "fields=id,title limits each task to the listed fields.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully fetched the group page"),
+                    @ApiResponse(responseCode = "400", description = "Invalid status, cursor or field"),
+                    @ApiResponse(responseCode = "500", description = "Internal server error")
+            })
+    @GetMapping("/grouped/{status}")
+    public ResponseEntity<byte[]> getGroupedTasksByStatus(
+            @PathVariable CompletionStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) String fields) {
+        int selected = TaskJsonWriter.parseFields(fields);
+        return json(taskJsonWriter.writePage(taskService.getTasksByCompletionStatus(status, cursor, size), selected));
+    }
 }
@@ -0,0 +1,28 @@
+package com.todo.demo.event;
+
+import com.todo.demo.model.Task;
+
+/**
+ * One changed task. oldTitle is the title before the change (null for created
+ * tasks), task is the new state (null for deleted tasks).
+ */
+public record TaskChange(Type type, Long taskId, String oldTitle, Task task) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskChange created(Task task) {
+        return new TaskChange(Type.CREATED, task.getId(), null, task);
+    }
+
+    public static TaskChange updated(String oldTitle, Task task) {
+        return new TaskChange(Type.UPDATED, task.getId(), oldTitle, task);
+    }
+
+    public static TaskChange deleted(Long taskId, String oldTitle) {
+        return new TaskChange(Type.DELETED, taskId, oldTitle, null);
+    }
+}
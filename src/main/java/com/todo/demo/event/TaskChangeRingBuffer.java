@@ -0,0 +1,94 @@
+package com.todo.demo.event;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+
+/**
+ * Fixed-size, lock-free buffer of the most recent encoded task changes. Every
+ * change gets the next sequence number and goes into slot (sequence & mask), so the
+ * buffer always holds the last capacity changes and old ones are overwritten, never
+ * queued. Writers claim a sequence with one atomic increment; readers never block
+ * and find out from the sequence stored in a slot whether it is the change they
+ * asked for, one that is not visible yet, or one that has already been overwritten.
+ */
+public class TaskChangeRingBuffer {
+
+    public enum ReadStatus {
+        //entries up to the last visible one were copied
+        OK,
+        //the reader is further behind than the buffer reaches, it has missed changes
+        LAPPED
+    }
+
+    public record Entry(long sequence, byte[] data) {
+    }
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final long firstSequence;
+    private final AtomicLong lastClaimed;
+
+    //capacity is rounded up to a power of two; sequences before firstSequence belong to an earlier run
+    public TaskChangeRingBuffer(int capacity, long firstSequence) {
+        int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.firstSequence = firstSequence;
+        this.lastClaimed = new AtomicLong(firstSequence - 1);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    //claims the next sequence and stores what encoder makes of it, e.g. a frame that carries the sequence as its id
+    public long publish(LongFunction<byte[]> encoder) {
+        long sequence = lastClaimed.incrementAndGet();
+        slots.set(index(sequence), new Entry(sequence, encoder.apply(sequence)));
+        return sequence;
+    }
+
+    //sequence of the newest claimed change; it may still be in the middle of being published
+    public long lastSequence() {
+        return lastClaimed.get();
+    }
+
+    public boolean hasAfter(long sequence) {
+        return lastClaimed.get() > sequence;
+    }
+
+    //whether a reader that has seen every change up to sequence can still continue from the buffer
+    public boolean canResumeAfter(long sequence) {
+        long last = lastClaimed.get();
+        return sequence >= firstSequence - 1 && sequence <= last && last - sequence <= capacity();
+    }
+
+    /**
+     * Copies up to max changes after the given sequence, in order, into out. Stops at
+     * the first change that is claimed but not visible yet; its writer publishes it
+     * right after, so the reader simply reads again later.
+     */
+    public ReadStatus readAfter(long sequence, int max, List<Entry> out) {
+        if (sequence < firstSequence - 1) {
+            return ReadStatus.LAPPED;
+        }
+        long last = lastClaimed.get();
+        for (long next = sequence + 1; next <= last && max-- > 0; next++) {
+            Entry entry = slots.get(index(next));
+            if (entry == null || entry.sequence() < next) {
+                break;
+            }
+            if (entry.sequence() > next) {
+                return ReadStatus.LAPPED;
+            }
+            out.add(entry);
+        }
+        return ReadStatus.OK;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+}
@@ -0,0 +1,23 @@
+package com.todo.demo.event;
+
+import java.util.List;
+
+/**
+ * Published once per write (a single task or a whole import chunk), after the rows are written.
+ * bulk marks import chunks: listeners that need every row (the title index) still get them,
+ * the change stream announces the chunk as a single event instead of one per task.
+ */
+public record TasksChangedEvent(List<TaskChange> changes, boolean bulk) {
+
+    public TasksChangedEvent(List<TaskChange> changes) {
+        this(changes, false);
+    }
+
+    public static TasksChangedEvent of(TaskChange change) {
+        return new TasksChangedEvent(List.of(change));
+    }
+
+    public static TasksChangedEvent bulk(List<TaskChange> changes) {
+        return new TasksChangedEvent(changes, true);
+    }
+}
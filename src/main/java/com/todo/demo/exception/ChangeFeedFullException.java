@@ -0,0 +1,12 @@
+package com.todo.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ChangeFeedFullException extends RuntimeException{
+
+    public ChangeFeedFullException(int maxSubscribers) {
+        super("The task change feed already has " + maxSubscribers + " subscribers, retry later");
+    }
+}
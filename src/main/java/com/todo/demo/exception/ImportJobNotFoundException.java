@@ -0,0 +1,12 @@
+package com.todo.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ImportJobNotFoundException extends RuntimeException{
+
+    public ImportJobNotFoundException(String id) {
+        super("Import job not found with ID: " + id);
+    }
+}
@@ -0,0 +1,12 @@
+package com.todo.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class ImportJobRejectedException extends RuntimeException{
+
+    public ImportJobRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.todo.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class InvalidRefreshTokenException extends RuntimeException{
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.todo.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidTaskQueryException extends RuntimeException{
+
+    public InvalidTaskQueryException(String message) {
+        super(message);
+    }
+}
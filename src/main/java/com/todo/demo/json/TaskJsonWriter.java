@@ -0,0 +1,298 @@
+package com.todo.demo.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.demo.event.TaskChange;
+import com.todo.demo.exception.InvalidTaskQueryException;
+import com.todo.demo.model.CursorPage;
+import com.todo.demo.model.Task;
+import com.todo.demo.model.TaskView;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes tasks straight to a JsonGenerator: no bean introspection, field names are
+ * pre-encoded, and timestamps are formatted into a reused char buffer instead of
+ * going through String. The output is the same JSON Jackson produces for Task
+ * (same field order, ISO-8601 local date-times), optionally limited to a subset
+ * of fields selected with a bit mask from {@link #parseFields(String)}.
+ */
+@Component
+public class TaskJsonWriter {
+
+    public static final int ID = 1;
+    public static final int USER_ID = 1 << 1;
+    public static final int TITLE = 1 << 2;
+    public static final int COMPLETED = 1 << 3;
+    public static final int CREATED_AT = 1 << 4;
+    public static final int UPDATED_AT = 1 << 5;
+    public static final int VERSION = 1 << 6;
+    public static final int ALL_FIELDS = (1 << 7) - 1;
+
+    private static final Map<String, Integer> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("id", ID);
+        FIELDS.put("userId", USER_ID);
+        FIELDS.put("title", TITLE);
+        FIELDS.put("completed", COMPLETED);
+        FIELDS.put("createdAt", CREATED_AT);
+        FIELDS.put("updatedAt", UPDATED_AT);
+        FIELDS.put("version", VERSION);
+    }
+
+    private static final SerializableString F_ID = new SerializedString("id");
+    private static final SerializableString F_USER_ID = new SerializedString("userId");
+    private static final SerializableString F_TITLE = new SerializedString("title");
+    private static final SerializableString F_COMPLETED = new SerializedString("completed");
+    private static final SerializableString F_CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString F_UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializableString F_VERSION = new SerializedString("version");
+    private static final SerializableString F_ITEMS = new SerializedString("items");
+    private static final SerializableString F_NEXT_CURSOR = new SerializedString("nextCursor");
+    private static final SerializableString F_TYPE = new SerializedString("type");
+    private static final SerializableString F_TASK_ID = new SerializedString("taskId");
+    private static final SerializableString F_TASK = new SerializedString("task");
+    private static final SerializableString F_COUNT = new SerializedString("count");
+    private static final SerializableString F_FROM_TASK_ID = new SerializedString("fromTaskId");
+    private static final SerializableString F_TO_TASK_ID = new SerializedString("toTaskId");
+    private static final SerializableString BULK = new SerializedString("BULK");
+
+    //yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+    private static final int MAX_TIMESTAMP_CHARS = 29;
+
+    private final JsonFactory jsonFactory;
+
+    public TaskJsonWriter(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    //"id,title" -> bit mask, null or blank selects every field
+    public static int parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL_FIELDS;
+        }
+        int mask = 0;
+        for (String name : fields.split(",")) {
+            Integer bit = FIELDS.get(name.trim());
+            if (bit == null) {
+                throw new InvalidTaskQueryException("Unknown field '" + name.trim() + "', expected one of " + FIELDS.keySet());
+            }
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    public byte[] writeTask(Task task, int fields) {
+        try (ByteArrayBuilder out = new ByteArrayBuilder(256)) {
+            try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+                writeTask(generator, task, fields, new char[MAX_TIMESTAMP_CHARS]);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public byte[] writePage(CursorPage<? extends TaskView> page, int fields) {
+        List<? extends TaskView> items = page.getItems();
+        try (ByteArrayBuilder out = new ByteArrayBuilder(64 + items.size() * 160)) {
+            try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+                char[] buffer = new char[MAX_TIMESTAMP_CHARS];
+                generator.writeStartObject();
+                generator.writeFieldName(F_ITEMS);
+                generator.writeStartArray();
+                for (TaskView view : items) {
+                    writeView(generator, view, fields, buffer);
+                }
+                generator.writeEndArray();
+                generator.writeFieldName(F_NEXT_CURSOR);
+                if (page.getNextCursor() == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeString(page.getNextCursor());
+                }
+                generator.writeEndObject();
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //{"type":"UPDATED","taskId":1,"task":{...}}, task is null for deleted tasks
+    public byte[] writeChange(TaskChange change) {
+        try (ByteArrayBuilder out = new ByteArrayBuilder(256)) {
+            try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeFieldName(F_TYPE);
+                generator.writeString(change.type().name());
+                generator.writeFieldName(F_TASK_ID);
+                writeLong(generator, change.taskId());
+                generator.writeFieldName(F_TASK);
+                if (change.task() == null) {
+                    generator.writeNull();
+                } else {
+                    writeTask(generator, change.task(), ALL_FIELDS, new char[MAX_TIMESTAMP_CHARS]);
+                }
+                generator.writeEndObject();
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //{"type":"BULK","count":1000,"fromTaskId":1,"toTaskId":1000}, an import chunk that touched count tasks in the id range
+    public byte[] writeBulkChange(int count, long fromTaskId, long toTaskId) {
+        try (ByteArrayBuilder out = new ByteArrayBuilder(96)) {
+            try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeFieldName(F_TYPE);
+                generator.writeString(BULK);
+                generator.writeFieldName(F_COUNT);
+                generator.writeNumber(count);
+                generator.writeFieldName(F_FROM_TASK_ID);
+                generator.writeNumber(fromTaskId);
+                generator.writeFieldName(F_TO_TASK_ID);
+                generator.writeNumber(toTaskId);
+                generator.writeEndObject();
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeTask(JsonGenerator g, Task task, int fields, char[] buffer) throws IOException {
+        writeObject(g, fields, buffer, task.getId(), task.getUserId(), task.getTitle(), task.getCompleted(),
+                task.getCreatedAt(), task.getUpdatedAt(), task.getVersion());
+    }
+
+    private static void writeView(JsonGenerator g, TaskView view, int fields, char[] buffer) throws IOException {
+        writeObject(g, fields, buffer, view.getId(), view.getUserId(), view.getTitle(), view.getCompleted(),
+                view.getCreatedAt(), view.getUpdatedAt(), view.getVersion());
+    }
+
+    private static void writeObject(JsonGenerator g, int fields, char[] buffer, Long id, Long userId, String title,
+                                    Boolean completed, LocalDateTime createdAt, LocalDateTime updatedAt,
+                                    long version) throws IOException {
+        g.writeStartObject();
+        if ((fields & ID) != 0) {
+            g.writeFieldName(F_ID);
+            writeLong(g, id);
+        }
+        if ((fields & USER_ID) != 0) {
+            g.writeFieldName(F_USER_ID);
+            writeLong(g, userId);
+        }
+        if ((fields & TITLE) != 0) {
+            g.writeFieldName(F_TITLE);
+            if (title == null) {
+                g.writeNull();
+            } else {
+                g.writeString(title);
+            }
+        }
+        if ((fields & COMPLETED) != 0) {
+            g.writeFieldName(F_COMPLETED);
+            if (completed == null) {
+                g.writeNull();
+            } else {
+                g.writeBoolean(completed);
+            }
+        }
+        if ((fields & CREATED_AT) != 0) {
+            g.writeFieldName(F_CREATED_AT);
+            writeDateTime(g, createdAt, buffer);
+        }
+        if ((fields & UPDATED_AT) != 0) {
+            g.writeFieldName(F_UPDATED_AT);
+            writeDateTime(g, updatedAt, buffer);
+        }
+        if ((fields & VERSION) != 0) {
+            g.writeFieldName(F_VERSION);
+            g.writeNumber(version);
+        }
+        g.writeEndObject();
+    }
+
+    private static void writeLong(JsonGenerator g, Long value) throws IOException {
+        if (value == null) {
+            g.writeNull();
+        } else {
+            g.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeDateTime(JsonGenerator g, LocalDateTime value, char[] buffer) throws IOException {
+        if (value == null) {
+            g.writeNull();
+            return;
+        }
+        int length = formatIsoLocalDateTime(value, buffer);
+        if (length < 0) {
+            g.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        } else {
+            g.writeString(buffer, 0, length);
+        }
+    }
+
+    /**
+     * Same text as DateTimeFormatter.ISO_LOCAL_DATE_TIME (always with seconds, the
+     * fraction only when non-zero and without trailing zeros), written into buffer.
+     * Returns the length, or -1 for years outside 0000-9999 which need the formatter.
+     */
+    static int formatIsoLocalDateTime(LocalDateTime value, char[] buffer) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+        digits4(buffer, 0, year);
+        buffer[4] = '-';
+        digits2(buffer, 5, value.getMonthValue());
+        buffer[7] = '-';
+        digits2(buffer, 8, value.getDayOfMonth());
+        buffer[10] = 'T';
+        digits2(buffer, 11, value.getHour());
+        buffer[13] = ':';
+        digits2(buffer, 14, value.getMinute());
+        buffer[16] = ':';
+        digits2(buffer, 17, value.getSecond());
+        int nano = value.getNano();
+        if (nano == 0) {
+            return 19;
+        }
+        buffer[19] = '.';
+        for (int i = 28; i >= 20; i--) {
+            buffer[i] = (char) ('0' + nano % 10);
+            nano /= 10;
+        }
+        int end = 29;
+        while (buffer[end - 1] == '0') {
+            end--;
+        }
+        return end;
+    }
+
+    private static void digits2(char[] buffer, int offset, int value) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    private static void digits4(char[] buffer, int offset, int value) {
+        digits2(buffer, offset, value / 100);
+        digits2(buffer, offset + 2, value % 100);
+    }
+}
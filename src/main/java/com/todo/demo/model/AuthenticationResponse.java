@@ -4,11 +4,22 @@ public class AuthenticationResponse {
 
     private String token;
 
+    private String refreshToken;
+
     public AuthenticationResponse(String token) {
         this.token = token;
     }
 
+    public AuthenticationResponse(String token, String refreshToken) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+    }
+
     public String getToken() {
         return token;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
 }
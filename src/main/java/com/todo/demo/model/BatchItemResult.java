@@ -0,0 +1,18 @@
+package com.todo.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchItemResult {
+
+    public enum Outcome {
+        UPDATED,
+        DELETED,
+        NOT_FOUND
+    }
+
+    private Long id;
+    private Outcome outcome;
+}
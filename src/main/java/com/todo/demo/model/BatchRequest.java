@@ -0,0 +1,16 @@
+package com.todo.demo.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class BatchRequest {
+
+    private List<Long> ids;
+
+    //only used by batch complete, defaults to marking the tasks completed
+    private Boolean completed = true;
+}
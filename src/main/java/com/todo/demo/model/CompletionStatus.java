@@ -0,0 +1,15 @@
+package com.todo.demo.model;
+
+public enum CompletionStatus {
+    COMPLETED,
+    PENDING,
+    //tasks whose completed flag is null
+    UNKNOWN;
+
+    public static CompletionStatus of(Boolean completed) {
+        if (completed == null) {
+            return UNKNOWN;
+        }
+        return completed ? COMPLETED : PENDING;
+    }
+}
@@ -0,0 +1,16 @@
+package com.todo.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+
+    //opaque token for the next page, null when there are no more items
+    private String nextCursor;
+}
@@ -0,0 +1,49 @@
+package com.todo.demo.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persistent state of an asynchronous task import. committedRows is the
+ * checkpoint: the number of feed records whose batch has been committed,
+ * a resumed job skips that many records before writing again.
+ */
+@Entity
+@Table(name = "import_job")
+@Data
+@NoArgsConstructor
+public class ImportJob {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ImportJobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ImportMode mode;
+
+    private String sourceUrl;
+
+    private long committedRows;
+    private Long totalRows;
+
+    private long inserted;
+    private long updated;
+    private long skipped;
+    private long unchanged;
+    private int errors;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
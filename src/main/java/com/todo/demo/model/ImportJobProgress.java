@@ -0,0 +1,29 @@
+package com.todo.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ImportJobProgress {
+
+    private String id;
+    private ImportJobStatus status;
+    private ImportMode mode;
+    private long done;
+
+    //null until the whole feed has been read
+    private Long total;
+
+    private long inserted;
+    private long updated;
+    private long skipped;
+    private long unchanged;
+    private int errors;
+    private String lastError;
+    private double rowsPerSecond;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
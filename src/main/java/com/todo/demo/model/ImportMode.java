@@ -0,0 +1,8 @@
+package com.todo.demo.model;
+
+public enum ImportMode {
+    //write every fetched task
+    FULL,
+    //write only new tasks and tasks whose content changed
+    DELTA
+}
@@ -0,0 +1,35 @@
+package com.todo.demo.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//row counts of one import; streamed imports and sync deduplicate ids per chunk only, so an id
+//repeated in a later chunk is counted again there (e.g. inserted, then updated)
+@Data
+@NoArgsConstructor
+public class ImportResult {
+
+    private long inserted;
+    private long updated;
+    private long skipped;
+
+    //rows already up to date, only counted by delta sync
+    private long unchanged;
+    private long elapsedMs;
+
+    public void addInserted(long count) {
+        inserted += count;
+    }
+
+    public void addUpdated(long count) {
+        updated += count;
+    }
+
+    public void addSkipped(long count) {
+        skipped += count;
+    }
+
+    public void addUnchanged(long count) {
+        unchanged += count;
+    }
+}
@@ -0,0 +1,11 @@
+package com.todo.demo.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class RefreshRequest {
+
+    private String refreshToken;
+}
@@ -1,5 +1,6 @@
 package com.todo.demo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -7,21 +8,51 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "task")
+@Table(name = "task", indexes = {
+        @Index(name = "idx_task_user_id", columnList = "user_id"),
+        @Index(name = "idx_task_completed", columnList = "completed"),
+        @Index(name = "idx_task_created_at", columnList = "created_at"),
+        @Index(name = "idx_task_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_task_user_completed", columnList = "user_id, completed"),
+        @Index(name = "idx_task_user_created_at", columnList = "user_id, created_at"),
+        @Index(name = "idx_task_user_updated_at", columnList = "user_id, updated_at")
+})
 @Data
 @NoArgsConstructor
 public class Task {
 
+    //ids generated here start at this value, imported tasks keep their upstream ids below it
+    public static final int GENERATED_ID_BASE = 1_000_000_000;
+
+    //ids are handed out in blocks of 100 per node (pooled-lo), so batched inserts need no id round trips
     @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq",
+            initialValue = GENERATED_ID_BASE, allocationSize = 100)
     private Long id;
 
+    @Column(name = "user_id")
     private Long userId;
+
     private String title;
     private Boolean completed;
 
+    @Column(name = "created_at")
     private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    //optimistic lock version, also served as the ETag of the task
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    //hash of the fields last synced from the external feed, used by delta sync
+    @JsonIgnore
+    @Column(length = 64)
+    private String contentHash;
+
 
 
 }
\ No newline at end of file
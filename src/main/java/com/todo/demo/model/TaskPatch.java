@@ -0,0 +1,15 @@
+package com.todo.demo.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//partial task update, null fields are left unchanged
+@Data
+@NoArgsConstructor
+public class TaskPatch {
+
+    private Long id;
+    private Long userId;
+    private String title;
+    private Boolean completed;
+}
@@ -0,0 +1,9 @@
+package com.todo.demo.model;
+
+//projection of one GROUP BY completed row
+public interface TaskStatusCount {
+
+    Boolean getCompleted();
+
+    long getCount();
+}
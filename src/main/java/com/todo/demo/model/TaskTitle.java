@@ -0,0 +1,9 @@
+package com.todo.demo.model;
+
+//id and title only, used to build the title search index
+public interface TaskTitle {
+
+    Long getId();
+
+    String getTitle();
+}
@@ -0,0 +1,21 @@
+package com.todo.demo.model;
+
+import java.time.LocalDateTime;
+
+//read-only projection of a task, selected column by column instead of as a managed entity
+public interface TaskView {
+
+    Long getId();
+
+    Long getUserId();
+
+    String getTitle();
+
+    Boolean getCompleted();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    long getVersion();
+}
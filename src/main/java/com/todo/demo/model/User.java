@@ -1,5 +1,6 @@
 package com.todo.demo.model;
 
+import com.todo.demo.cache.UserCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,6 +13,7 @@ import java.util.List;
 @Data
 @Entity
 @Table(name = "user")
+@EntityListeners(UserCacheInvalidationListener.class)
 @NoArgsConstructor
 public class User implements UserDetails {
 
@@ -0,0 +1,25 @@
+package com.todo.demo.repository;
+
+import com.todo.demo.model.ImportJob;
+import com.todo.demo.model.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob,String> {
+
+    List<ImportJob> findByStatusIn(Collection<ImportJobStatus> statuses);
+
+    //advance the checkpoint in the same transaction as the batch it covers
+    @Modifying
+    @Query("update ImportJob j set j.committedRows = j.committedRows + :rows, j.inserted = j.inserted + :inserted, "
+            + "j.updated = j.updated + :updated, j.skipped = j.skipped + :skipped, j.unchanged = j.unchanged + :unchanged "
+            + "where j.id = :id")
+    int checkpoint(@Param("id") String id, @Param("rows") long rows, @Param("inserted") long inserted,
+                   @Param("updated") long updated, @Param("skipped") long skipped,
+                   @Param("unchanged") long unchanged);
+}
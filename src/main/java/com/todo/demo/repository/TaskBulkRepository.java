@@ -0,0 +1,295 @@
+package com.todo.demo.repository;
+
+import com.todo.demo.cache.TaskCache;
+import com.todo.demo.event.TaskChange;
+import com.todo.demo.event.TasksChangedEvent;
+import com.todo.demo.model.ImportResult;
+import com.todo.demo.model.Task;
+import com.todo.demo.model.TaskPatch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC batch writer for task imports. Existing rows are resolved with one
+ * IN query per chunk instead of a merge SELECT per entity.
+ */
+@Repository
+public class TaskBulkRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO task (id, user_id, title, completed, created_at, updated_at, content_hash, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE task SET user_id = ?, title = ?, completed = ?, created_at = ?, updated_at = ?, content_hash = ?, "
+                    + "version = version + 1 WHERE id = ?";
+
+    //delta updates keep created_at and only stamp updated_at
+    private static final String SYNC_UPDATE_SQL =
+            "UPDATE task SET user_id = ?, title = ?, completed = ?, updated_at = ?, content_hash = ?, "
+                    + "version = version + 1 WHERE id = ?";
+
+    //batch patch, null parameters keep the stored value
+    private static final String PATCH_SQL =
+            "UPDATE task SET user_id = COALESCE(?, user_id), title = COALESCE(?, title), "
+                    + "completed = COALESCE(?, completed), updated_at = ?, version = version + 1 WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${task.import.batch-size:500}")
+    private int batchSize;
+
+    //write all tasks in chunks of batchSize inside a single transaction; ids are deduplicated
+    //over the whole list, so an id repeated in two chunks is written and counted once
+    @Transactional
+    public ImportResult upsertAll(List<Task> tasks) {
+        long start = System.currentTimeMillis();
+        ImportResult result = new ImportResult();
+        Map<Long, Task> chunk = new LinkedHashMap<>();
+        for (Task task : dedupe(tasks, result).values()) {
+            chunk.put(task.getId(), task);
+            if (chunk.size() == batchSize) {
+                writeChunk(chunk, result);
+                chunk = new LinkedHashMap<>();
+            }
+        }
+        writeChunk(chunk, result);
+        result.setElapsedMs(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    //write one chunk of a streamed import in its own transaction (or the caller's, if one is active);
+    //ids are only deduplicated within the chunk
+    @Transactional
+    public void upsertChunk(List<Task> chunk, ImportResult result) {
+        writeChunk(dedupe(chunk, result), result);
+    }
+
+    private void writeChunk(Map<Long, Task> byId, ImportResult result) {
+        if (byId.isEmpty()) {
+            return;
+        }
+
+        taskCache.evictAll(byId.keySet());
+        Map<Long, String> existingTitles = findTitles(byId.keySet());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<TaskChange> changes = new ArrayList<>(byId.size());
+        for (Task task : byId.values()) {
+            String hash = contentHash(task.getUserId(), task.getTitle(), task.getCompleted());
+            if (existingTitles.containsKey(task.getId())) {
+                updates.add(new Object[]{task.getUserId(), task.getTitle(), task.getCompleted(),
+                        toTimestamp(task.getCreatedAt()), toTimestamp(task.getUpdatedAt()), hash, task.getId()});
+                changes.add(TaskChange.updated(existingTitles.get(task.getId()), task));
+            } else {
+                inserts.add(insertRow(task, hash));
+                changes.add(TaskChange.created(task));
+            }
+        }
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            result.addInserted(inserts.size());
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            result.addUpdated(updates.size());
+        }
+        eventPublisher.publishEvent(TasksChangedEvent.bulk(changes));
+    }
+
+    //delta-sync one chunk: insert new rows, update rows whose content changed, leave the rest untouched
+    @Transactional
+    public void syncChunk(List<Task> chunk, ImportResult result) {
+        Map<Long, Task> byId = dedupe(chunk, result);
+        if (byId.isEmpty()) {
+            return;
+        }
+
+        Map<Long, StoredRow> storedRows = findStoredRows(byId.keySet());
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Long> changedIds = new ArrayList<>();
+        List<TaskChange> changes = new ArrayList<>();
+        for (Task task : byId.values()) {
+            String hash = contentHash(task.getUserId(), task.getTitle(), task.getCompleted());
+            StoredRow stored = storedRows.get(task.getId());
+            if (stored == null) {
+                task.setCreatedAt(now);
+                task.setUpdatedAt(null);
+                inserts.add(insertRow(task, hash));
+                changedIds.add(task.getId());
+                changes.add(TaskChange.created(task));
+            } else if (!stored.contentHash().equals(hash)) {
+                updates.add(new Object[]{task.getUserId(), task.getTitle(), task.getCompleted(),
+                        toTimestamp(now), hash, task.getId()});
+                changedIds.add(task.getId());
+                task.setUpdatedAt(now);
+                changes.add(TaskChange.updated(stored.title(), task));
+            } else {
+                result.addUnchanged(1);
+            }
+        }
+
+        taskCache.evictAll(changedIds);
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            result.addInserted(inserts.size());
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(SYNC_UPDATE_SQL, updates);
+            result.addUpdated(updates.size());
+        }
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(TasksChangedEvent.bulk(changes));
+        }
+    }
+
+    //apply patches as one JDBC batch, joining the caller's transaction
+    @Transactional
+    public void patchAll(List<TaskPatch> patches, LocalDateTime updatedAt) {
+        List<Object[]> rows = new ArrayList<>(patches.size());
+        for (TaskPatch patch : patches) {
+            rows.add(new Object[]{patch.getUserId(), patch.getTitle(), patch.getCompleted(),
+                    toTimestamp(updatedAt), patch.getId()});
+        }
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(PATCH_SQL, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    //update only the columns set in the patch, optionally guarded by the expected version; returns rows updated
+    @Transactional
+    public int patchOne(Long id, TaskPatch patch, Long expectedVersion, LocalDateTime updatedAt) {
+        StringBuilder sql = new StringBuilder("UPDATE task SET ");
+        List<Object> args = new ArrayList<>();
+        if (patch.getUserId() != null) {
+            sql.append("user_id = ?, ");
+            args.add(patch.getUserId());
+        }
+        if (patch.getTitle() != null) {
+            sql.append("title = ?, ");
+            args.add(patch.getTitle());
+        }
+        if (patch.getCompleted() != null) {
+            sql.append("completed = ?, ");
+            args.add(patch.getCompleted());
+        }
+        sql.append("updated_at = ?, version = version + 1 WHERE id = ?");
+        args.add(toTimestamp(updatedAt));
+        args.add(id);
+        if (expectedVersion != null) {
+            sql.append(" AND version = ?");
+            args.add(expectedVersion);
+        }
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    //delete the row only while it still has the given version; returns rows deleted
+    @Transactional
+    public int deleteOne(Long id, long version) {
+        return jdbcTemplate.update("DELETE FROM task WHERE id = ? AND version = ?", id, version);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    private Map<Long, Task> dedupe(List<Task> tasks, ImportResult result) {
+        Map<Long, Task> byId = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            if (task.getId() == null || task.getId() >= Task.GENERATED_ID_BASE) {
+                //ids from the generated range would collide with tasks created through the API
+                result.addSkipped(1);
+            } else if (byId.put(task.getId(), task) != null) {
+                //duplicate id, the last occurrence wins
+                result.addSkipped(1);
+            }
+        }
+        return byId;
+    }
+
+    //current title per existing id, needed to report the previous state of updated rows
+    private Map<Long, String> findTitles(Set<Long> ids) {
+        Map<Long, String> titles = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT id, title FROM task WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    titles.put(rs.getLong("id"), rs.getString("title"));
+                });
+        return titles;
+    }
+
+    //stored title and hash per existing id, rows written before hashes existed are hashed from their columns
+    private Map<Long, StoredRow> findStoredRows(Set<Long> ids) {
+        Map<Long, StoredRow> rows = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT id, user_id, title, completed, content_hash FROM task WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    String title = rs.getString("title");
+                    String hash = rs.getString("content_hash");
+                    if (hash == null) {
+                        Long userId = rs.getObject("user_id", Long.class);
+                        Boolean completed = rs.getObject("completed", Boolean.class);
+                        hash = contentHash(userId, title, completed);
+                    }
+                    rows.put(rs.getLong("id"), new StoredRow(title, hash));
+                });
+        return rows;
+    }
+
+    private static Object[] insertRow(Task task, String hash) {
+        return new Object[]{task.getId(), task.getUserId(), task.getTitle(), task.getCompleted(),
+                toTimestamp(task.getCreatedAt()), toTimestamp(task.getUpdatedAt()), hash};
+    }
+
+    //SHA-256 over the fields that come from the external feed
+    static String contentHash(Long userId, String title, Boolean completed) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String content = userId + "\u0000" + title + "\u0000" + completed;
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value == null ? null : Timestamp.valueOf(value);
+    }
+
+    private record StoredRow(String title, String contentHash) {
+    }
+}
@@ -1,11 +1,78 @@
 package com.todo.demo.repository;
 
 import com.todo.demo.model.Task;
+import com.todo.demo.model.TaskStatusCount;
+import com.todo.demo.model.TaskTitle;
+import com.todo.demo.model.TaskView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface TaskRepository extends JpaRepository<Task,Long> {
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface TaskRepository extends JpaRepository<Task,Long>, JpaSpecificationExecutor<Task> {
 
     Page<Task> findAll(Pageable pageable);
+
+    //keyset pagination, seek past the last seen id instead of using OFFSET and count(*);
+    //rows come back as read-only projections, nothing is added to the persistence context
+    List<TaskView> findViewsByIdGreaterThanOrderByIdAsc(Long cursor, Limit limit);
+
+    List<TaskView> findViewsByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long cursor, Limit limit);
+
+    List<TaskView> findViewsByUserIdAndCompletedAndIdGreaterThanOrderByIdAsc(Long userId, Boolean completed, Long cursor, Limit limit);
+
+    //detail view of a single task as a projection
+    Optional<TaskView> findViewById(Long id);
+
+    @Query("select t.title from Task t where t.id = :id")
+    Optional<String> findTitleById(@Param("id") Long id);
+
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    //whole table as a cursor-backed stream, rows are fetched from the server in blocks of 500
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select t from Task t order by t.id")
+    Stream<Task> streamAll();
+
+    //ids and titles of all tasks, streamed for the search index build
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.id as id, t.title as title from Task t")
+    Stream<TaskTitle> streamTitles();
+
+    //current state of the given tasks, read before a batch mutation
+    List<TaskView> findViewsByIdIn(Collection<Long> ids);
+
+    //set-based batch update, one statement for all ids
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.completed = :completed, t.updatedAt = :updatedAt, t.version = t.version + 1 "
+            + "where t.id in :ids")
+    int updateCompletedByIds(@Param("ids") Collection<Long> ids, @Param("completed") Boolean completed,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+
+    //task counts per completion status, aggregated by the database
+    @Query("select t.completed as completed, count(t) as count from Task t group by t.completed")
+    List<TaskStatusCount> countByCompletionStatus();
+
+    //one user's task counts per completion status, answered from the (user_id, completed) index
+    @Query("select t.completed as completed, count(t) as count from Task t where t.userId = :userId group by t.completed")
+    List<TaskStatusCount> countByCompletionStatusForUser(@Param("userId") Long userId);
+
+    //one completion-status group as read-only projections, paged by keyset
+    List<TaskView> findViewsByCompletedAndIdGreaterThanOrderByIdAsc(Boolean completed, Long cursor, Limit limit);
+
+    List<TaskView> findViewsByCompletedIsNullAndIdGreaterThanOrderByIdAsc(Long cursor, Limit limit);
 }
@@ -0,0 +1,37 @@
+package com.todo.demo.repository;
+
+import com.todo.demo.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+//filter predicates for the task listing, each one maps onto an indexed column
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> hasUserId(Long userId) {
+        return (root, query, cb) -> userId == null ? null : cb.equal(root.get("userId"), userId);
+    }
+
+    public static Specification<Task> hasCompleted(Boolean completed) {
+        return (root, query, cb) -> completed == null ? null : cb.equal(root.get("completed"), completed);
+    }
+
+    //dateField is createdAt or updatedAt, either bound may be null
+    public static Specification<Task> inDateRange(String dateField, LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.get(dateField), from, to);
+            }
+            if (from != null) {
+                return cb.greaterThanOrEqualTo(root.get(dateField), from);
+            }
+            if (to != null) {
+                return cb.lessThanOrEqualTo(root.get(dateField), to);
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,289 @@
+package com.todo.demo.search;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Sorted task ids stored as variable-length encoded deltas in a single byte
+ * array, typically 1-3 bytes per id instead of a boxed Long per entry.
+ * Appending an id larger than the current maximum is O(1); anything else
+ * re-encodes the list, so changes are applied in batches through merge.
+ * Every block of 128 ids records where it starts, so membership tests and
+ * reads from the largest id down only decode one block at a time.
+ * Not thread-safe; the owning index merges into a copy and swaps it in.
+ */
+final class PostingList {
+
+    private static final long[] NO_IDS = new long[0];
+
+    private static final int BLOCK_SIZE = 128;
+
+    private byte[] data = new byte[4];
+    private int length;
+    private int size;
+    private long last;
+
+    //per block: offset of its first id and the id before it, which that first delta is relative to
+    private int[] blockOffsets = new int[1];
+    private long[] blockPrevious = new long[1];
+    private int blocks;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void add(long id) {
+        if (size == 0 || id > last) {
+            append(id);
+            return;
+        }
+        merge(new long[]{id}, NO_IDS);
+    }
+
+    boolean remove(long id) {
+        if (size == 0 || id > last) {
+            return false;
+        }
+        int before = size;
+        merge(NO_IDS, new long[]{id});
+        return size < before;
+    }
+
+    /**
+     * Adds and removes a batch of ids in one pass over the encoded list, O(size + batch)
+     * however the ids interleave with the existing ones. Both arrays must be sorted
+     * ascending and must not share an id.
+     */
+    void merge(long[] adds, long[] removes) {
+        if (removes.length == 0 && (adds.length == 0 || size == 0 || adds[0] > last)) {
+            for (long id : adds) {
+                appendIfLarger(id);
+            }
+            return;
+        }
+        Cursor existing = new Cursor(data, size);
+        data = new byte[Math.max(4, length + adds.length * 3)];
+        length = 0;
+        size = 0;
+        blocks = 0;
+        int a = 0;
+        int r = 0;
+        while (existing.hasNext()) {
+            long id = existing.next();
+            while (a < adds.length && adds[a] <= id) {
+                appendIfLarger(adds[a++]);
+            }
+            while (r < removes.length && removes[r] < id) {
+                r++;
+            }
+            if (r < removes.length && removes[r] == id) {
+                r++;
+            } else {
+                appendIfLarger(id);
+            }
+        }
+        while (a < adds.length) {
+            appendIfLarger(adds[a++]);
+        }
+        trim();
+    }
+
+    //visits the ids in ascending order straight from the encoded bytes
+    void forEach(LongConsumer action) {
+        Cursor cursor = new Cursor(data, size);
+        while (cursor.hasNext()) {
+            action.accept(cursor.next());
+        }
+    }
+
+    //visits the ids from the largest down until the action returns false
+    void forEachDescending(LongPredicate action) {
+        DescendingCursor cursor = descendingCursor();
+        while (cursor.hasNext()) {
+            if (!action.test(cursor.next())) {
+                return;
+            }
+        }
+    }
+
+    DescendingCursor descendingCursor() {
+        return new DescendingCursor();
+    }
+
+    boolean contains(long id) {
+        if (size == 0 || id > last) {
+            return false;
+        }
+        //the last block whose preceding id is smaller than id is the only one that can hold it
+        int low = 1;
+        int high = blocks - 1;
+        int block = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (blockPrevious[mid] < id) {
+                block = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        Cursor cursor = blockCursor(block);
+        for (int i = 0; i < BLOCK_SIZE && cursor.hasNext(); i++) {
+            long next = cursor.next();
+            if (next >= id) {
+                return next == id;
+            }
+        }
+        return false;
+    }
+
+    PostingList copy() {
+        PostingList copy = new PostingList();
+        copy.data = Arrays.copyOf(data, length + 4);
+        copy.length = length;
+        copy.size = size;
+        copy.last = last;
+        copy.blockOffsets = Arrays.copyOf(blockOffsets, Math.max(1, blocks));
+        copy.blockPrevious = Arrays.copyOf(blockPrevious, Math.max(1, blocks));
+        copy.blocks = blocks;
+        return copy;
+    }
+
+    long[] toArray() {
+        long[] ids = new long[size];
+        Cursor cursor = new Cursor(data, size);
+        for (int i = 0; i < size; i++) {
+            ids[i] = cursor.next();
+        }
+        return ids;
+    }
+
+    //bytes held by the encoded ids
+    int encodedBytes() {
+        return length;
+    }
+
+    private Cursor blockCursor(int block) {
+        return new Cursor(data, size, blockOffsets[block], block * BLOCK_SIZE, blockPrevious[block]);
+    }
+
+    //skips ids already present, the list stays strictly ascending
+    private void appendIfLarger(long id) {
+        if (size == 0 || id > last) {
+            append(id);
+        }
+    }
+
+    private void append(long id) {
+        long value = size == 0 ? zigZagEncode(id) : id - last;
+        ensureCapacity(length + 10);
+        if (size % BLOCK_SIZE == 0) {
+            startBlock();
+        }
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+        last = id;
+        size++;
+    }
+
+    private void startBlock() {
+        if (blocks == blockOffsets.length) {
+            blockOffsets = Arrays.copyOf(blockOffsets, blocks * 2);
+            blockPrevious = Arrays.copyOf(blockPrevious, blocks * 2);
+        }
+        blockOffsets[blocks] = length;
+        blockPrevious[blocks] = last;
+        blocks++;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > data.length) {
+            data = Arrays.copyOf(data, Math.max(required, data.length + (data.length >> 1)));
+        }
+    }
+
+    private void trim() {
+        if (data.length > length + 16) {
+            data = Arrays.copyOf(data, length + 4);
+        }
+    }
+
+    private static long zigZagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long zigZagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    //reads the ids from the largest down, decoding one block at a time
+    final class DescendingCursor {
+
+        private final long[] block = new long[BLOCK_SIZE];
+        private int nextBlock = blocks - 1;
+        private int position = -1;
+
+        boolean hasNext() {
+            if (position < 0 && nextBlock >= 0) {
+                Cursor cursor = blockCursor(nextBlock--);
+                int count = 0;
+                while (count < BLOCK_SIZE && cursor.hasNext()) {
+                    block[count++] = cursor.next();
+                }
+                position = count - 1;
+            }
+            return position >= 0;
+        }
+
+        long next() {
+            return block[position--];
+        }
+    }
+
+    //reads the ids back from an encoded array, the first one is zig-zag encoded, the rest are deltas
+    private static final class Cursor {
+
+        private final byte[] data;
+        private final int size;
+        private int offset;
+        private int index;
+        private long previous;
+
+        Cursor(byte[] data, int size) {
+            this(data, size, 0, 0, 0);
+        }
+
+        Cursor(byte[] data, int size, int offset, int index, long previous) {
+            this.data = data;
+            this.size = size;
+            this.offset = offset;
+            this.index = index;
+            this.previous = previous;
+        }
+
+        boolean hasNext() {
+            return index < size;
+        }
+
+        long next() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            previous = index++ == 0 ? zigZagDecode(value) : previous + value;
+            return previous;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.todo.demo.search;
+
+public record SearchHit(long taskId, float score) {
+}
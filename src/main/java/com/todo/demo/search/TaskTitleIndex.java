@@ -0,0 +1,393 @@
+package com.todo.demo.search;
+
+import com.todo.demo.event.TaskChange;
+import com.todo.demo.event.TasksChangedEvent;
+import com.todo.demo.model.TaskTitle;
+import com.todo.demo.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over task titles. Built from the task table at
+ * startup and kept current from TasksChangedEvent after each write commits.
+ * Terms are kept sorted so the last query word can be matched as a prefix.
+ * Posting lists are never changed once searchable: a change batch is merged
+ * into copies of the touched lists without blocking searches, and only the
+ * swap of the new lists into the term map takes the write lock.
+ */
+@Component
+public class TaskTitleIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskTitleIndex.class);
+
+    //prefix matches rank below exact matches of the same word
+    private static final float PREFIX_WEIGHT = 0.5f;
+
+    //upper bounds on the number of terms a prefix may expand to and on the ids they hold together
+    private static final int MAX_PREFIX_TERMS = 64;
+    private static final int MAX_PREFIX_POSTINGS = 20_000;
+
+    //highest score first, newer (larger) ids win ties
+    private static final Comparator<SearchHit> RANKING = Comparator.comparingDouble(SearchHit::score).reversed()
+            .thenComparing(Comparator.comparingLong(SearchHit::taskId).reversed());
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    //serialises writers, which read the current lists without the read lock while they merge
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private TreeMap<String, PostingList> terms = new TreeMap<>();
+    private long documentCount;
+
+    //changes that arrive while a rebuild is running, replayed once it is swapped in
+    private List<TaskChange> pendingChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        updateLock.lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            updateLock.unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        TreeMap<String, PostingList> built = new TreeMap<>();
+        long count = 0;
+        try (Stream<TaskTitle> titles = taskRepository.streamTitles()) {
+            Iterator<TaskTitle> it = titles.iterator();
+            while (it.hasNext()) {
+                TaskTitle title = it.next();
+                addDocument(built, title.getId(), title.getTitle());
+                count++;
+            }
+        } catch (RuntimeException e) {
+            updateLock.lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                updateLock.unlock();
+            }
+            throw e;
+        }
+
+        updateLock.lock();
+        try {
+            Update pending = prepare(built, pendingChanges);
+            pendingChanges = null;
+            lock.writeLock().lock();
+            try {
+                terms = built;
+                documentCount = count;
+                install(pending);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+        logger.info("Indexed {} task titles ({} terms) in {} ms", count, built.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksChanged(TasksChangedEvent event) {
+        updateLock.lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.addAll(event.changes());
+            }
+            Update update = prepare(terms, event.changes());
+            lock.writeLock().lock();
+            try {
+                install(update);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    //ranked search, every query word matches exactly and the last one also as a prefix
+    public List<SearchHit> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Clause> clauses = new ArrayList<>();
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                PostingList exact = terms.get(token);
+                if (exact != null) {
+                    clauses.add(new Clause(exact, idf(exact.size())));
+                }
+                if (i == tokens.size() - 1) {
+                    for (PostingList postings : prefixExpansion(token)) {
+                        clauses.add(new Clause(postings, PREFIX_WEIGHT * idf(postings.size())));
+                    }
+                }
+            }
+            if (clauses.isEmpty()) {
+                return List.of();
+            }
+            return clauses.size() == 1 ? newest(clauses.get(0), limit) : topHits(clauses, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //every id of a single list has the same score, so the hits are simply its last ids
+    private static List<SearchHit> newest(Clause clause, int limit) {
+        List<SearchHit> hits = new ArrayList<>(Math.min(limit, clause.postings().size()));
+        clause.postings().forEachDescending(id -> {
+            hits.add(new SearchHit(id, clause.weight()));
+            return hits.size() < limit;
+        });
+        return hits;
+    }
+
+    //the longer terms starting with token, stopping at MAX_PREFIX_TERMS terms or MAX_PREFIX_POSTINGS ids
+    private List<PostingList> prefixExpansion(String token) {
+        NavigableMap<String, PostingList> prefixed = terms.subMap(token, false, token + Character.MAX_VALUE, false);
+        List<PostingList> expansion = new ArrayList<>();
+        int postingCount = 0;
+        for (PostingList postings : prefixed.values()) {
+            postingCount += postings.size();
+            if (expansion.size() == MAX_PREFIX_TERMS || postingCount > MAX_PREFIX_POSTINGS) {
+                break;
+            }
+            expansion.add(postings);
+        }
+        return expansion;
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //lower-cased runs of letters and digits
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    //collects the changes per term first, so every touched posting list is merged once per batch,
+    //into a copy that install swaps in; the caller holds updateLock, so index does not change meanwhile
+    private static Update prepare(Map<String, PostingList> index, List<TaskChange> changes) {
+        Map<String, Map<Long, Boolean>> membership = new HashMap<>();
+        long documentDelta = 0;
+        for (TaskChange change : changes) {
+            if (change.taskId() == null) {
+                continue;
+            }
+            switch (change.type()) {
+                case CREATED -> {
+                    stage(membership, change.taskId(), null, change.task().getTitle());
+                    documentDelta++;
+                }
+                case UPDATED -> {
+                    if (!Objects.equals(change.oldTitle(), change.task().getTitle())) {
+                        stage(membership, change.taskId(), change.oldTitle(), change.task().getTitle());
+                    }
+                }
+                case DELETED -> {
+                    stage(membership, change.taskId(), change.oldTitle(), null);
+                    documentDelta--;
+                }
+            }
+        }
+        Map<String, PostingList> merged = new HashMap<>();
+        membership.forEach((token, members) -> {
+            PostingList postings = mergeTerm(index.get(token), members);
+            if (postings != null) {
+                merged.put(token, postings);
+            }
+        });
+        return new Update(merged, documentDelta);
+    }
+
+    //caller holds the write lock
+    private void install(Update update) {
+        update.postings().forEach((token, postings) -> {
+            if (postings.isEmpty()) {
+                terms.remove(token);
+            } else {
+                terms.put(token, postings);
+            }
+        });
+        documentCount = Math.max(0, documentCount + update.documentDelta());
+    }
+
+    //records whether the task ends up under each term of its old and new title, a later change wins
+    private static void stage(Map<String, Map<Long, Boolean>> membership, Long id, String oldTitle, String newTitle) {
+        List<String> added = tokenize(newTitle);
+        for (String token : tokenize(oldTitle)) {
+            if (!added.contains(token)) {
+                membership.computeIfAbsent(token, t -> new HashMap<>()).put(id, false);
+            }
+        }
+        for (String token : added) {
+            membership.computeIfAbsent(token, t -> new HashMap<>()).put(id, true);
+        }
+    }
+
+    //the merged copy of postings, or null when there is nothing to change
+    private static PostingList mergeTerm(PostingList postings, Map<Long, Boolean> members) {
+        long[] adds = new long[members.size()];
+        long[] removes = new long[members.size()];
+        int addCount = 0;
+        int removeCount = 0;
+        for (Map.Entry<Long, Boolean> member : members.entrySet()) {
+            if (member.getValue()) {
+                adds[addCount++] = member.getKey();
+            } else {
+                removes[removeCount++] = member.getKey();
+            }
+        }
+        if (postings == null && addCount == 0) {
+            return null;
+        }
+        PostingList merged = postings == null ? new PostingList() : postings.copy();
+        adds = Arrays.copyOf(adds, addCount);
+        removes = Arrays.copyOf(removes, removeCount);
+        Arrays.sort(adds);
+        Arrays.sort(removes);
+        merged.merge(adds, removes);
+        return merged;
+    }
+
+    private static void addDocument(TreeMap<String, PostingList> index, Long id, String title) {
+        if (id == null) {
+            return;
+        }
+        for (String token : tokenize(title)) {
+            index.computeIfAbsent(token, t -> new PostingList()).add(id);
+        }
+    }
+
+    private float idf(int documentFrequency) {
+        return (float) Math.log(1.0 + (double) Math.max(documentCount, documentFrequency) / documentFrequency);
+    }
+
+    //document-at-a-time from the newest id down (MaxScore). Once limit hits are held, clauses whose weights
+    //together cannot beat the lowest of them only get probed for the ids the other clauses produce, and the
+    //search stops as soon as those other clauses are exhausted, usually long before the end of the lists
+    private static List<SearchHit> topHits(List<Clause> clauses, int limit) {
+        clauses.sort(Comparator.comparingDouble(Clause::weight));
+        int count = clauses.size();
+        float[] bound = new float[count];
+        PostingList.DescendingCursor[] cursors = new PostingList.DescendingCursor[count];
+        long[] current = new long[count];
+        boolean[] exhausted = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            bound[i] = (i == 0 ? 0 : bound[i - 1]) + clauses.get(i).weight();
+            cursors[i] = clauses.get(i).postings().descendingCursor();
+            advance(cursors, current, exhausted, i);
+        }
+
+        PriorityQueue<SearchHit> heap = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        float threshold = Float.NEGATIVE_INFINITY;
+        //clauses below this one cannot lift an id they alone match past the threshold
+        int essential = 0;
+        while (true) {
+            long id = Long.MIN_VALUE;
+            for (int i = essential; i < count; i++) {
+                if (!exhausted[i] && current[i] > id) {
+                    id = current[i];
+                }
+            }
+            if (id == Long.MIN_VALUE) {
+                break;
+            }
+            float score = 0;
+            for (int i = count - 1; i >= essential; i--) {
+                if (!exhausted[i] && current[i] == id) {
+                    score += clauses.get(i).weight();
+                    advance(cursors, current, exhausted, i);
+                }
+            }
+            for (int i = essential - 1; i >= 0 && score + bound[i] > threshold; i--) {
+                if (clauses.get(i).postings().contains(id)) {
+                    score += clauses.get(i).weight();
+                }
+            }
+            //ids come largest first, so an equal score never displaces a held hit
+            if (heap.size() < limit || score > threshold) {
+                heap.add(new SearchHit(id, score));
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+                if (heap.size() == limit) {
+                    threshold = heap.peek().score();
+                    while (essential < count && bound[essential] <= threshold) {
+                        essential++;
+                    }
+                }
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(heap);
+        hits.sort(RANKING);
+        return hits;
+    }
+
+    private static void advance(PostingList.DescendingCursor[] cursors, long[] current, boolean[] exhausted, int i) {
+        if (cursors[i].hasNext()) {
+            current[i] = cursors[i].next();
+        } else {
+            exhausted[i] = true;
+        }
+    }
+
+    //one posting list of the query and the score it adds to every id in it
+    private record Clause(PostingList postings, float weight) {
+    }
+
+
+    private record Update(Map<String, PostingList> postings, long documentDelta) {
+    }
+}
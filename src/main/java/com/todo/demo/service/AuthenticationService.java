@@ -1,5 +1,6 @@
 package com.todo.demo.service;
 
+import com.todo.demo.exception.InvalidRefreshTokenException;
 import com.todo.demo.model.AuthenticationResponse;
 import com.todo.demo.model.User;
 import com.todo.demo.repository.UserRepository;
@@ -24,30 +25,47 @@ public class  AuthenticationService {
     @Autowired
     public AuthenticationManager authenticationManager;
 
+    @Autowired
+    public RefreshTokenService refreshTokenService;
+
+    @Autowired
+    public CredentialCheckExecutor credentialCheckExecutor;
+
 
     public User register(User request){
         User user=new User();
         user.setEmail(request.getEmail());
         user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(credentialCheckExecutor.run(() -> passwordEncoder.encode(request.getPassword())));
 
         user=userRepository.save(user);
         return user;
     }
 
 
+    //password check (BCrypt) runs on the bounded credential pool, not on the request thread
     public AuthenticationResponse authenticate(User request){
-        authenticationManager.authenticate(
+        credentialCheckExecutor.run(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getEmail(),
                         request.getPassword()
                 )
-        );
+        ));
 
         User user=userRepository.findByEmail(request.getEmail()).orElseThrow();
 
         String token=jwtService.generateToken(user);
 
-        return new AuthenticationResponse(token);
+        return new AuthenticationResponse(token, refreshTokenService.issue(user));
+    }
+
+    //new access token for a refresh token, no password check; the refresh token is rotated
+    public AuthenticationResponse refresh(String refreshToken){
+        RefreshTokenService.Rotation rotation=refreshTokenService.rotate(refreshToken);
+
+        User user=userRepository.findById(rotation.userId())
+                .orElseThrow(() -> new InvalidRefreshTokenException("User no longer exists"));
+
+        return new AuthenticationResponse(jwtService.generateToken(user), rotation.refreshToken());
     }
 }
@@ -0,0 +1,76 @@
+package com.todo.demo.service;
+
+import com.todo.demo.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs password hashing and verification (BCrypt) on a small fixed pool with a
+ * bounded queue, so a burst of logins uses at most max-threads cores and the
+ * request threads serving /tasks/** are not starved. When the queue is full, or a
+ * check waits longer than the timeout, the caller gets a 429 straight away.
+ */
+@Component
+public class CredentialCheckExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    public CredentialCheckExecutor(@Value("${auth.bcrypt.max-threads:0}") int maxThreads,
+                                   @Value("${auth.bcrypt.queue-capacity:64}") int queueCapacity,
+                                   @Value("${auth.bcrypt.timeout-ms:2000}") long timeoutMillis,
+                                   MeterRegistry meterRegistry) {
+        //0 means half of the cores, at least one
+        int threads = maxThreads > 0 ? maxThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("bcrypt-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+        Gauge.builder("auth.bcrypt.queue.size", executor, e -> e.getQueue().size())
+                .description("Credential checks waiting for a BCrypt worker")
+                .register(meterRegistry);
+    }
+
+    //run the check on the pool and wait for it, exceptions thrown by the check are rethrown as is
+    public <T> T run(Callable<T> check) {
+        Future<T> future;
+        try {
+            future = executor.submit(check);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyLoginAttemptsException("Too many concurrent login attempts, retry later");
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new TooManyLoginAttemptsException("Login check timed out, retry later");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new TooManyLoginAttemptsException("Login check interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,408 @@
+package com.todo.demo.service;
+
+import com.todo.demo.exception.ImportJobNotFoundException;
+import com.todo.demo.exception.ImportJobRejectedException;
+import com.todo.demo.model.ImportJob;
+import com.todo.demo.model.ImportJobProgress;
+import com.todo.demo.model.ImportJobStatus;
+import com.todo.demo.model.ImportMode;
+import com.todo.demo.model.ImportResult;
+import com.todo.demo.model.Task;
+import com.todo.demo.repository.ImportJobRepository;
+import com.todo.demo.repository.TaskBulkRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs fetch-and-store imports as background jobs. Each job is a three stage
+ * pipeline (fetch, transform, write) connected by small bounded queues, so a
+ * slow database throttles the download instead of buffering the feed.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobService.class);
+
+    //marks the end of the feed in the pipeline queues
+    private static final List<Task> END_OF_FEED = List.of();
+
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final long POLL_MILLIS = 100;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private TaskBulkRepository taskBulkRepository;
+
+    @Autowired
+    private TaskFeedReader taskFeedReader;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${todo-api.url:https://jsonplaceholder.typicode.com/todos}")
+    private String apiUrl;
+
+    @Value("${task.import.jobs.pipeline-depth:4}")
+    private int pipelineDepth;
+
+    private final ThreadPoolExecutor jobExecutor;
+    private final ExecutorService stageExecutor;
+    private final Map<String, RunningJob> running = new ConcurrentHashMap<>();
+    private volatile boolean shuttingDown;
+
+    public ImportJobService(@Value("${task.import.jobs.max-concurrent:2}") int maxConcurrentJobs,
+                            @Value("${task.import.jobs.queue-capacity:10}") int queueCapacity) {
+        this.jobExecutor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("import-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        //every running job uses two stage threads next to its own fetch thread
+        this.stageExecutor = Executors.newFixedThreadPool(2 * maxConcurrentJobs,
+                new CustomizableThreadFactory("import-stage-"));
+    }
+
+    //create a job and queue it, returns immediately
+    public ImportJobProgress submit(ImportMode mode) {
+        ImportJob job = new ImportJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setStatus(ImportJobStatus.QUEUED);
+        job.setMode(mode);
+        job.setSourceUrl(apiUrl);
+        job.setCreatedAt(LocalDateTime.now());
+        importJobRepository.save(job);
+        return progress(schedule(job).job);
+    }
+
+    public ImportJobProgress getProgress(String id) {
+        RunningJob run = running.get(id);
+        if (run != null) {
+            return progress(run.job, run.rowsAtStart);
+        }
+        return progress(findJob(id));
+    }
+
+    //request cancellation, a running job stops after its current batch
+    public ImportJobProgress cancel(String id) {
+        RunningJob run = running.get(id);
+        if (run != null) {
+            run.cancelled = true;
+            if (run.future != null && run.future.cancel(false)) {
+                //never started, nothing else will finish it
+                running.remove(id);
+                finish(run.job, ImportJobStatus.CANCELLED, null);
+            }
+            return progress(run.job);
+        }
+        ImportJob job = findJob(id);
+        if (job.getStatus() == ImportJobStatus.QUEUED || job.getStatus() == ImportJobStatus.RUNNING) {
+            finish(job, ImportJobStatus.CANCELLED, null);
+        }
+        return progress(job);
+    }
+
+    //restart a failed, cancelled or interrupted job from its last committed batch
+    public ImportJobProgress resume(String id) {
+        RunningJob run = running.get(id);
+        if (run != null) {
+            return progress(run.job);
+        }
+        ImportJob job = findJob(id);
+        if (job.getStatus() == ImportJobStatus.COMPLETED) {
+            return progress(job);
+        }
+        job.setStatus(ImportJobStatus.QUEUED);
+        job.setLastError(null);
+        job.setFinishedAt(null);
+        importJobRepository.save(job);
+        return progress(schedule(job).job);
+    }
+
+    //jobs left QUEUED or RUNNING by a previous shutdown continue from their checkpoint
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (ImportJob job : importJobRepository.findByStatusIn(List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING))) {
+            try {
+                logger.info("Resuming import job {} after {} committed rows", job.getId(), job.getCommittedRows());
+                schedule(job);
+            } catch (ImportJobRejectedException e) {
+                logger.warn("Could not resume import job {}: {}", job.getId(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        jobExecutor.shutdownNow();
+        stageExecutor.shutdownNow();
+    }
+
+    private RunningJob schedule(ImportJob job) {
+        RunningJob run = new RunningJob(job);
+        running.put(job.getId(), run);
+        try {
+            run.future = jobExecutor.submit(() -> execute(run));
+            return run;
+        } catch (RejectedExecutionException e) {
+            running.remove(job.getId());
+            finish(job, ImportJobStatus.FAILED, "Rejected, too many import jobs queued");
+            throw new ImportJobRejectedException("Too many import jobs queued, try again later.");
+        }
+    }
+
+    private void execute(RunningJob run) {
+        ImportJob job = run.job;
+        synchronized (job) {
+            job.setStatus(ImportJobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            run.rowsAtStart = job.getCommittedRows();
+            importJobRepository.save(job);
+        }
+
+        BlockingQueue<List<Task>> fetched = new ArrayBlockingQueue<>(pipelineDepth);
+        BlockingQueue<List<Task>> transformed = new ArrayBlockingQueue<>(pipelineDepth);
+        Future<?> transformStage = stageExecutor.submit(() -> stage(run, () -> transform(run, fetched, transformed)));
+        Future<?> writeStage = stageExecutor.submit(() -> stage(run, () -> write(run, transformed)));
+
+        try {
+            long total = fetch(run, fetched);
+            synchronized (job) {
+                job.setTotalRows(total);
+            }
+            writeStage.get();
+            transformStage.get();
+            finish(job, ImportJobStatus.COMPLETED, null);
+        } catch (Exception e) {
+            run.aborted = true;
+            transformStage.cancel(true);
+            writeStage.cancel(true);
+            if (run.cancelled) {
+                finish(job, ImportJobStatus.CANCELLED, null);
+            } else if (shuttingDown) {
+                //left RUNNING on purpose, it resumes from the checkpoint on the next start
+                logger.info("Import job {} interrupted by shutdown", job.getId());
+            } else {
+                Throwable cause = stageFailure(writeStage);
+                if (cause == null) {
+                    cause = stageFailure(transformStage);
+                }
+                if (cause == null) {
+                    cause = e.getCause() != null ? e.getCause() : e;
+                }
+                logger.error("Import job {} failed: {}", job.getId(), cause.getMessage());
+                finish(job, ImportJobStatus.FAILED, cause.getMessage());
+            }
+        } finally {
+            running.remove(job.getId());
+        }
+    }
+
+    //a failing stage stops the others instead of leaving them blocked on a full or empty queue
+    private void stage(RunningJob run, Runnable body) {
+        try {
+            body.run();
+        } catch (RuntimeException e) {
+            run.aborted = true;
+            throw e;
+        }
+    }
+
+    private Throwable stageFailure(Future<?> stage) {
+        if (!stage.isDone() || stage.isCancelled()) {
+            return null;
+        }
+        try {
+            stage.get();
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause() instanceof CancellationException ? null : e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    //fetch stage, streams the feed and skips records already committed by an earlier run
+    private long fetch(RunningJob run, BlockingQueue<List<Task>> out) {
+        long skip = run.rowsAtStart;
+        long[] seen = {0};
+        long total = taskFeedReader.read(run.job.getSourceUrl(), taskBulkRepository.getBatchSize(), batch -> {
+            long first = seen[0];
+            seen[0] += batch.size();
+            if (seen[0] <= skip) {
+                return;
+            }
+            List<Task> pending = first < skip ? batch.subList((int) (skip - first), batch.size()) : batch;
+            put(run, out, pending);
+        });
+        put(run, out, END_OF_FEED);
+        return total;
+    }
+
+    //transform stage, stamps the import time on every task (delta sync stamps only rows it actually writes)
+    private void transform(RunningJob run, BlockingQueue<List<Task>> in, BlockingQueue<List<Task>> out) {
+        while (true) {
+            List<Task> batch = take(run, in);
+            if (batch == END_OF_FEED) {
+                put(run, out, END_OF_FEED);
+                return;
+            }
+            if (run.job.getMode() != ImportMode.DELTA) {
+                LocalDateTime now = LocalDateTime.now();
+                for (Task task : batch) {
+                    task.setCreatedAt(now);
+                }
+            }
+            put(run, out, batch);
+        }
+    }
+
+    //write stage, commits each batch together with the job checkpoint
+    private void write(RunningJob run, BlockingQueue<List<Task>> in) {
+        ImportJob job = run.job;
+        while (true) {
+            List<Task> batch = take(run, in);
+            if (batch == END_OF_FEED) {
+                return;
+            }
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    ImportResult result = new ImportResult();
+                    transactionTemplate.executeWithoutResult(status -> {
+                        if (job.getMode() == ImportMode.DELTA) {
+                            taskBulkRepository.syncChunk(batch, result);
+                        } else {
+                            taskBulkRepository.upsertChunk(batch, result);
+                        }
+                        importJobRepository.checkpoint(job.getId(), batch.size(), result.getInserted(),
+                                result.getUpdated(), result.getSkipped(), result.getUnchanged());
+                    });
+                    synchronized (job) {
+                        job.setCommittedRows(job.getCommittedRows() + batch.size());
+                        job.setInserted(job.getInserted() + result.getInserted());
+                        job.setUpdated(job.getUpdated() + result.getUpdated());
+                        job.setSkipped(job.getSkipped() + result.getSkipped());
+                        job.setUnchanged(job.getUnchanged() + result.getUnchanged());
+                    }
+                    break;
+                } catch (RuntimeException e) {
+                    synchronized (job) {
+                        job.setErrors(job.getErrors() + 1);
+                        job.setLastError(e.getMessage());
+                    }
+                    if (attempt >= MAX_WRITE_ATTEMPTS) {
+                        throw e;
+                    }
+                    run.checkActive();
+                }
+            }
+        }
+    }
+
+    private void put(RunningJob run, BlockingQueue<List<Task>> queue, List<Task> batch) {
+        try {
+            while (!queue.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                run.checkActive();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted");
+        }
+    }
+
+    private List<Task> take(RunningJob run, BlockingQueue<List<Task>> queue) {
+        try {
+            List<Task> batch;
+            while ((batch = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                run.checkActive();
+            }
+            return batch;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted");
+        }
+    }
+
+    private void finish(ImportJob job, ImportJobStatus status, String error) {
+        synchronized (job) {
+            job.setStatus(status);
+            job.setFinishedAt(LocalDateTime.now());
+            if (error != null) {
+                job.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+            }
+            importJobRepository.save(job);
+        }
+    }
+
+    private ImportJob findJob(String id) {
+        return importJobRepository.findById(id)
+                .orElseThrow(() -> new ImportJobNotFoundException(id));
+    }
+
+    private ImportJobProgress progress(ImportJob job) {
+        return progress(job, 0);
+    }
+
+    //rows per second are measured since the job was last (re)started
+    private ImportJobProgress progress(ImportJob job, long rowsAtStart) {
+        synchronized (job) {
+            double rowsPerSecond = 0;
+            if (job.getStartedAt() != null) {
+                LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+                long millis = Duration.between(job.getStartedAt(), end).toMillis();
+                if (millis > 0) {
+                    rowsPerSecond = (job.getCommittedRows() - rowsAtStart) * 1000.0 / millis;
+                }
+            }
+            return new ImportJobProgress(job.getId(), job.getStatus(), job.getMode(), job.getCommittedRows(),
+                    job.getTotalRows(), job.getInserted(), job.getUpdated(), job.getSkipped(), job.getUnchanged(),
+                    job.getErrors(), job.getLastError(),
+                    rowsPerSecond, job.getStartedAt(), job.getFinishedAt());
+        }
+    }
+
+    private class RunningJob {
+
+        final ImportJob job;
+        volatile Future<?> future;
+        volatile boolean cancelled;
+        volatile boolean aborted;
+        volatile long rowsAtStart;
+
+        RunningJob(ImportJob job) {
+            this.job = job;
+        }
+
+        void checkActive() {
+            if (cancelled || aborted || shuttingDown) {
+                throw new CancellationException("Import job " + job.getId() + " stopped");
+            }
+        }
+    }
+}
@@ -1,86 +1,126 @@
 package com.todo.demo.service;
 
+import com.todo.demo.cache.ExpiringCache;
 import com.todo.demo.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    private Logger logger = LoggerFactory.getLogger(JwtService.class);
+    private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
 
     private final String SECRET_KEY="be347d644eddf843fd6cc27298e1214326db69cfb7669601365434e3a24233ca";
 
+    //signing key and parser are immutable, so build them once instead of per token
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    //verified tokens mapped to their claims, each entry expires with the token itself
+    private final ExpiringCache<String, Claims> claimsCache;
+
+    //signature verification and parsing time, recorded on claims cache misses only
+    private final Timer verifyTimer;
+
+    //per-request diagnostics are DEBUG only and logged for one validation in this many
+    @Value("${jwt.log.debug-sample-rate:100}")
+    private int debugSampleRate = 100;
+
+    private final AtomicLong validations = new AtomicLong();
+
+    public JwtService(@Value("${jwt.claims-cache.max-size:10000}") int claimsCacheMaxSize,
+                      MeterRegistry meterRegistry) {
+        this.signingKey = getSigninKey();
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.claimsCache = new ExpiringCache<>("jwtClaims", claimsCacheMaxSize);
+        this.verifyTimer = Timer.builder("jwt.verify")
+                .description("JWT signature verification and claims parsing")
+                .register(meterRegistry);
+    }
+
 
     public String extractEmail(String token){
-        logger.info("Extracting email from token");
         return extractClaim(token, Claims::getSubject);
     }
 
 
     public <T> T extractClaim(String token, Function<Claims,T> resolver){
-        logger.info("Extracting claims from token");
         Claims claims=extractALLClaims(token);
         return resolver.apply(claims);
     }
 
 
     public boolean isValid(String token, UserDetails user){
-        logger.info("Validating token for user: {}", ((User) user).getEmail());
-        String email=extractEmail(token);
-        boolean isValid = email.equals(((User) user).getEmail()) && !isTokenExpired(token);
-        logger.info("Token validity for user {}: {}", user.getUsername(), isValid);
+        Claims claims=extractALLClaims(token);
+        boolean isValid = claims.getSubject().equals(((User) user).getEmail()) && !isTokenExpired(claims);
+        if (logger.isDebugEnabled() && sampled()) {
+            logger.debug("Token validity for user {}: {} (expires {})", user.getUsername(), isValid,
+                    claims.getExpiration());
+        }
         return (isValid);
     }
 
-    private boolean isTokenExpired(String token){
-        boolean expired = extractExpiration(token).before(new Date());
-        logger.info("Is token expired? {}", expired);
-        return expired;
+    private boolean isTokenExpired(Claims claims){
+        return claims.getExpiration().before(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        logger.info("Extracting expiration from token");
-        return extractClaim(token, Claims::getExpiration);
+    private Claims extractALLClaims(String token){
+        Claims claims = claimsCache.get(token);
+        if (claims != null) {
+            return claims;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } finally {
+            sample.stop(verifyTimer);
+        }
+        if (claims.getExpiration() != null) {
+            claimsCache.put(token, claims, claims.getExpiration().getTime());
+        }
+        return claims;
     }
 
-    private Claims extractALLClaims(String token){
-        logger.info("Extracting all claims from token");
-        return Jwts.parser()
-                .verifyWith(getSigninKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private boolean sampled() {
+        return debugSampleRate <= 1 || validations.incrementAndGet() % debugSampleRate == 0;
+    }
+
+    public ExpiringCache<String, Claims> getClaimsCache() {
+        return claimsCache;
     }
 
 
     public String generateToken(User user){
-        logger.info("Generating token for user: {}", user.getEmail());
         String token= Jwts.builder()
                 .subject(user.getEmail())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis()+1*60*60*1000))
-                .signWith(getSigninKey())
+                .signWith(signingKey)
                 .compact();
 
-        logger.info("Generated token: {}", token);
+        logger.debug("Generated token for user: {}", user.getEmail());
 
         return token;
     }
 
     private SecretKey getSigninKey(){
-
-        logger.info("Getting signing key");
         byte[] keyBytes= Decoders.BASE64URL.decode(SECRET_KEY);
 
         return Keys.hmacShaKeyFor(keyBytes);
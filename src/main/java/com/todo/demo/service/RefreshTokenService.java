@@ -0,0 +1,102 @@
+package com.todo.demo.service;
+
+import com.todo.demo.exception.InvalidRefreshTokenException;
+import com.todo.demo.model.RefreshToken;
+import com.todo.demo.model.User;
+import com.todo.demo.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens. Only a SHA-256 hash of each token is
+ * stored; a plain hash is enough because the tokens are 256 random bits, so the
+ * lookup is a single indexed read instead of a BCrypt comparison.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh-token.ttl-ms:1209600000}")
+    private long ttlMillis;
+
+    //start a new token family, used at login; the user's expired tokens are dropped on the way
+    @Transactional
+    public String issue(User user) {
+        refreshTokenRepository.deleteExpiredForUser(user.getId(), LocalDateTime.now());
+        return issue(user.getId(), UUID.randomUUID().toString());
+    }
+
+    //exchange a refresh token for its successor, returns the new token; the user id is read from the stored row
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new InvalidRefreshTokenException("Refresh token is required");
+        }
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Unknown refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+        if (stored.getRevokedAt() != null) {
+            throw new InvalidRefreshTokenException("Refresh token revoked");
+        }
+        if (stored.getExpiresAt().isBefore(now)) {
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        }
+        if (refreshTokenRepository.markUsed(stored.getId(), now) == 0) {
+            //the token was already exchanged once: treat it as stolen and end the whole session
+            refreshTokenRepository.revokeFamily(stored.getFamilyId(), now);
+            logger.warn("Refresh token reuse detected for user {}, token family revoked", stored.getUserId());
+            throw new InvalidRefreshTokenException("Refresh token already used");
+        }
+        return new Rotation(stored.getUserId(), issue(stored.getUserId(), stored.getFamilyId()));
+    }
+
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setUserId(userId);
+        token.setFamilyId(familyId);
+        token.setCreatedAt(now);
+        token.setExpiresAt(now.plus(Duration.ofMillis(ttlMillis)));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Rotation(Long userId, String refreshToken) {
+    }
+}
@@ -0,0 +1,399 @@
+package com.todo.demo.service;
+
+import com.todo.demo.event.TaskChange;
+import com.todo.demo.event.TaskChangeRingBuffer;
+import com.todo.demo.event.TasksChangedEvent;
+import com.todo.demo.exception.ChangeFeedFullException;
+import com.todo.demo.json.TaskJsonWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent event stream of task changes (GET /tasks/changes). Each committed change
+ * is encoded once, as a complete SSE frame, into a TaskChangeRingBuffer and every
+ * subscriber only keeps the sequence of the last change it was sent, so memory does
+ * not grow with the number of subscribers or with how far behind they are. Sends run
+ * on a fixed pool; each subscriber has at most one drain task queued, so the queue is
+ * bounded by max-subscribers. A subscriber that falls further behind than the buffer
+ * reaches gets a reset event and is disconnected; it reconnects and reloads its tasks.
+ * A write to a client that stopped reading blocks its send thread until the container's
+ * write timeout, so a watchdog disconnects a subscriber whose write has taken longer
+ * than send-timeout-ms and adds a send thread in place of the stuck one until that
+ * write returns, which keeps slow clients from stalling delivery to everyone else.
+ */
+@Component
+public class TaskChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskChangeFeed.class);
+
+    //changes sent to one subscriber before its drain task yields the thread
+    private static final int DRAIN_BATCH = 256;
+
+    private static final int IDLE = 0;
+    private static final int SENDING = 1;
+    private static final int STALLED = 2;
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final TaskJsonWriter taskJsonWriter;
+    private final TaskChangeRingBuffer buffer;
+    private final int maxSubscribers;
+    private final long maxConnectionMillis;
+    private final int sendThreads;
+    private final long sendTimeoutNanos;
+    private final int maxStalledSends;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicInteger stalledSends = new AtomicInteger();
+    private final ThreadPoolExecutor sendExecutor;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("task-changes-scheduler-"));
+
+    private final Counter sent;
+    private final Counter droppedLapped;
+    private final Counter droppedError;
+    private final Counter droppedSlow;
+
+    public TaskChangeFeed(TaskJsonWriter taskJsonWriter,
+                          @Value("${task-changes.buffer-size:65536}") int bufferSize,
+                          @Value("${task-changes.max-subscribers:10000}") int maxSubscribers,
+                          @Value("${task-changes.send-threads:8}") int sendThreads,
+                          @Value("${task-changes.heartbeat-ms:15000}") long heartbeatMillis,
+                          @Value("${task-changes.max-connection-ms:1800000}") long maxConnectionMillis,
+                          @Value("${task-changes.send-timeout-ms:10000}") long sendTimeoutMillis,
+                          @Value("${task-changes.max-stalled-sends:64}") int maxStalledSends,
+                          MeterRegistry meterRegistry) {
+        this.taskJsonWriter = taskJsonWriter;
+        //sequences continue from the boot time, so event ids from before a restart are never reused
+        this.buffer = new TaskChangeRingBuffer(bufferSize, System.currentTimeMillis() * 1000);
+        this.maxSubscribers = maxSubscribers;
+        this.maxConnectionMillis = maxConnectionMillis;
+        this.sendThreads = sendThreads;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.maxStalledSends = maxStalledSends;
+        this.sendExecutor = new ThreadPoolExecutor(sendThreads, sendThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxSubscribers)),
+                new CustomizableThreadFactory("task-changes-"), new ThreadPoolExecutor.AbortPolicy());
+        if (heartbeatMillis > 0) {
+            scheduler.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        if (sendTimeoutMillis > 0) {
+            long checkMillis = Math.max(100, sendTimeoutMillis / 4);
+            scheduler.scheduleAtFixedRate(this::disconnectStalled, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        }
+
+        Gauge.builder("task.changes.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open task change streams")
+                .register(meterRegistry);
+        Gauge.builder("task.changes.send.queue.size", sendExecutor, e -> e.getQueue().size())
+                .description("Subscribers waiting for a send thread")
+                .register(meterRegistry);
+        Gauge.builder("task.changes.send.stalled", stalledSends, AtomicInteger::get)
+                .description("Send threads blocked writing to a disconnected slow subscriber")
+                .register(meterRegistry);
+        this.sent = Counter.builder("task.changes.sent")
+                .description("Change events written to subscribers")
+                .register(meterRegistry);
+        this.droppedLapped = dropped(meterRegistry, "lapped");
+        this.droppedError = dropped(meterRegistry, "error");
+        this.droppedSlow = dropped(meterRegistry, "slow");
+    }
+
+    private static Counter dropped(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("task.changes.dropped")
+                .description("Subscribers disconnected by the server")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream. With lastEventId (the Last-Event-ID header of a reconnecting
+     * client) the changes after it are replayed from the buffer, or a reset event is
+     * sent when they are no longer there; without it only new changes are sent.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        int count;
+        do {
+            count = subscriberCount.get();
+            if (count >= maxSubscribers) {
+                throw new ChangeFeedFullException(maxSubscribers);
+            }
+        } while (!subscriberCount.compareAndSet(count, count + 1));
+
+        SseEmitter emitter = new SseEmitter(maxConnectionMillis);
+        Subscriber subscriber = new Subscriber(emitter, buffer.lastSequence());
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        Long resumeAfter = parseEventId(lastEventId);
+        if (resumeAfter != null) {
+            if (buffer.canResumeAfter(resumeAfter)) {
+                subscriber.lastSequence = resumeAfter;
+            } else {
+                subscriber.resetDue = true;
+            }
+            schedule(subscriber);
+        }
+        return emitter;
+    }
+
+    //runs after the writing transaction commits, every change is serialised once for all subscribers;
+    //an import chunk is a single BULK event, so a large import neither laps the buffer nor serialises every row here
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksChanged(TasksChangedEvent event) {
+        if (event.changes().isEmpty()) {
+            return;
+        }
+        if (event.bulk()) {
+            byte[] json = bulkChange(event.changes());
+            buffer.publish(sequence -> frame(sequence, json));
+        } else {
+            for (TaskChange change : event.changes()) {
+                byte[] json = taskJsonWriter.writeChange(change);
+                buffer.publish(sequence -> frame(sequence, json));
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            schedule(subscriber);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    //a write that has not returned within send-timeout-ms means the client stopped reading: disconnect it and
+    //let another thread take over the stuck one's share of the pool until the container times the write out
+    private void disconnectStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sendState.get() == SENDING && now - subscriber.sendStartedNanos > sendTimeoutNanos
+                    && subscriber.sendState.compareAndSet(SENDING, STALLED)) {
+                logger.debug("Task change subscriber stopped reading at sequence {}, disconnecting",
+                        subscriber.lastSequence);
+                //not completed here, completing waits for the blocked write; the send thread does it once it returns
+                if (remove(subscriber)) {
+                    droppedSlow.increment();
+                }
+                stalledSends.incrementAndGet();
+                resizeSendPool();
+            }
+        }
+    }
+
+    private synchronized void resizeSendPool() {
+        int size = sendThreads + Math.min(stalledSends.get(), maxStalledSends);
+        if (size > sendExecutor.getMaximumPoolSize()) {
+            sendExecutor.setMaximumPoolSize(size);
+            sendExecutor.setCorePoolSize(size);
+        } else if (size < sendExecutor.getMaximumPoolSize()) {
+            sendExecutor.setCorePoolSize(size);
+            sendExecutor.setMaximumPoolSize(size);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.closed || !subscriber.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sendExecutor.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.scheduled.set(false);
+            drop(subscriber, droppedError);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.closed) {
+                return;
+            }
+            if (subscriber.resetDue) {
+                sendReset(subscriber);
+                return;
+            }
+            List<TaskChangeRingBuffer.Entry> batch = new ArrayList<>();
+            if (buffer.readAfter(subscriber.lastSequence, DRAIN_BATCH, batch) == TaskChangeRingBuffer.ReadStatus.LAPPED) {
+                sendReset(subscriber);
+                return;
+            }
+            for (TaskChangeRingBuffer.Entry entry : batch) {
+                if (subscriber.closed) {
+                    return;
+                }
+                send(subscriber, entry.data());
+                subscriber.lastSequence = entry.sequence();
+            }
+            sent.increment(batch.size());
+            if (batch.isEmpty() && subscriber.heartbeatDue) {
+                send(subscriber, HEARTBEAT);
+            }
+            subscriber.heartbeatDue = false;
+        } catch (IOException | IllegalStateException e) {
+            //client went away, or the emitter already completed
+            drop(subscriber, droppedError);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        //changes published while this drain ran did not schedule it again, pick them up now
+        if (buffer.hasAfter(subscriber.lastSequence)) {
+            schedule(subscriber);
+        }
+    }
+
+    private byte[] bulkChange(List<TaskChange> changes) {
+        long from = Long.MAX_VALUE;
+        long to = Long.MIN_VALUE;
+        for (TaskChange change : changes) {
+            from = Math.min(from, change.taskId());
+            to = Math.max(to, change.taskId());
+        }
+        return taskJsonWriter.writeBulkChange(changes.size(), from, to);
+    }
+
+    //"id:<sequence>\ndata:<json>\n\n", encoded once and written as is to every subscriber
+    private static byte[] frame(long sequence, byte[] json) {
+        byte[] head = ("id:" + sequence + "\ndata:").getBytes(StandardCharsets.US_ASCII);
+        byte[] frame = new byte[head.length + json.length + 2];
+        System.arraycopy(head, 0, frame, 0, head.length);
+        System.arraycopy(json, 0, frame, head.length, json.length);
+        frame[frame.length - 2] = '\n';
+        frame[frame.length - 1] = '\n';
+        return frame;
+    }
+
+    private void send(Subscriber subscriber, byte[] frame) throws IOException {
+        write(subscriber, () -> subscriber.emitter.send(Set.of(new ResponseBodyEmitter.DataWithMediaType(frame, null))));
+    }
+
+    //every write is timed so the watchdog can tell a slow client from an idle one
+    private void write(Subscriber subscriber, Write write) throws IOException {
+        subscriber.sendStartedNanos = System.nanoTime();
+        subscriber.sendState.set(SENDING);
+        try {
+            write.run();
+        } finally {
+            if (!subscriber.sendState.compareAndSet(SENDING, IDLE)) {
+                //the watchdog disconnected this subscriber while the write was blocked
+                stalledSends.decrementAndGet();
+                resizeSendPool();
+                complete(subscriber);
+            }
+        }
+    }
+
+    //tell the client it missed changes and close; the reset carries the current sequence as its id,
+    //so after reloading its tasks the client's automatic reconnect resumes from there
+    private void sendReset(Subscriber subscriber) throws IOException {
+        logger.debug("Task change subscriber lapped at sequence {}, disconnecting", subscriber.lastSequence);
+        String current = Long.toString(buffer.lastSequence());
+        write(subscriber, () -> subscriber.emitter.send(SseEmitter.event().id(current).name("reset").data(current)));
+        drop(subscriber, droppedLapped);
+    }
+
+    private void drop(Subscriber subscriber, Counter reason) {
+        if (remove(subscriber)) {
+            reason.increment();
+            complete(subscriber);
+        }
+    }
+
+    private static void complete(Subscriber subscriber) {
+        try {
+            subscriber.emitter.complete();
+        } catch (IllegalStateException e) {
+            //the container already closed the response, e.g. while shutting down
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            //not an id this server handed out, the client has to start over
+            return -1L;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        sendExecutor.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            if (remove(subscriber)) {
+                complete(subscriber);
+            }
+        }
+    }
+
+    private interface Write {
+        void run() throws IOException;
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicInteger sendState = new AtomicInteger(IDLE);
+        private volatile long sendStartedNanos;
+        private volatile long lastSequence;
+        private volatile boolean heartbeatDue;
+        private volatile boolean resetDue;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, long lastSequence) {
+            this.emitter = emitter;
+            this.lastSequence = lastSequence;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.todo.demo.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.demo.model.Task;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the external todo feed (a JSON array of tasks) token by token and hands
+ * it over in batches, so only one batch is ever held in memory.
+ */
+@Component
+public class TaskFeedReader {
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+
+    public TaskFeedReader(RestTemplate restTemplate, ObjectMapper objectMapper) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    //stream the feed at url, calling batchConsumer for every batchSize tasks; returns the number of tasks read
+    public long read(String url, int batchSize, Consumer<List<Task>> batchConsumer) {
+        Long count = restTemplate.execute(url, HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                response -> {
+                    try (JsonParser parser = objectMapper.getFactory().createParser(response.getBody())) {
+                        return readArray(parser, batchSize, batchConsumer);
+                    }
+                });
+        return count == null ? 0 : count;
+    }
+
+    private long readArray(JsonParser parser, int batchSize, Consumer<List<Task>> batchConsumer) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            return 0;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new RestClientException("Expected a JSON array of tasks but got " + token);
+        }
+
+        long count = 0;
+        List<Task> batch = new ArrayList<>(batchSize);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            batch.add(objectMapper.readValue(parser, Task.class));
+            count++;
+            if (batch.size() >= batchSize) {
+                batchConsumer.accept(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batchConsumer.accept(batch);
+        }
+        return count;
+    }
+}
@@ -1,111 +1,594 @@
 package com.todo.demo.service;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todo.demo.cache.FeedSnapshot;
+import com.todo.demo.cache.FeedSnapshotCache;
+import com.todo.demo.cache.TaskCache;
+import com.todo.demo.event.TaskChange;
+import com.todo.demo.event.TasksChangedEvent;
+import com.todo.demo.exception.InvalidTaskQueryException;
+import com.todo.demo.exception.PreconditionFailedException;
 import com.todo.demo.exception.TaskNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.client.RestTemplate;
+import com.todo.demo.model.BatchItemResult;
+import com.todo.demo.model.CompletionStatus;
+import com.todo.demo.model.CursorPage;
+import com.todo.demo.model.ImportResult;
 import com.todo.demo.model.Task;
+import com.todo.demo.model.TaskPatch;
+import com.todo.demo.model.TaskStatusCount;
+import com.todo.demo.model.TaskView;
+import com.todo.demo.model.User;
+import com.todo.demo.repository.TaskBulkRepository;
 import com.todo.demo.repository.TaskRepository;
+import com.todo.demo.repository.TaskSpecifications;
+import com.todo.demo.search.SearchHit;
+import com.todo.demo.search.TaskTitleIndex;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 @Service
 public class TaskService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
+
     @Autowired
     private RestTemplate restTemplate;
 
     @Autowired
     private TaskRepository taskRepository;
 
-    private final String API_URL = "https://jsonplaceholder.typicode.com/todos";
+    @Autowired
+    private TaskBulkRepository taskBulkRepository;
+
+    @Autowired
+    private TaskFeedReader taskFeedReader;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskTitleIndex taskTitleIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private FeedSnapshotCache feedSnapshotCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "createdAt", "updatedAt");
+
+    @Value("${todo-api.url:https://jsonplaceholder.typicode.com/todos}")
+    private String apiUrl;
 
     //fetch task from external API
     public List<Task> fetchTasksFromExternalAPI() {
         try {
-            Task[] tasks = restTemplate.getForObject(API_URL, Task[].class);
+            Task[] tasks = restTemplate.getForObject(apiUrl, Task[].class);
             if (tasks != null && tasks.length > 0) {
                 return Arrays.asList(tasks);
             }
             return Collections.emptyList();
         } catch (Exception e) {
-            System.err.println("Error fetching tasks from external API: " + e.getMessage());
+            fetchErrors("fetch").increment();
+            logger.error("Error fetching tasks from external API: {}", e.getMessage());
             return Collections.emptyList();
         }
     }
 
+    //external feed as a shared, pre-serialised snapshot; concurrent callers share one download
+    public FeedSnapshot getExternalTasksSnapshot() {
+        return feedSnapshotCache.get(() -> {
+            try {
+                Task[] tasks = restTemplate.getForObject(apiUrl, Task[].class);
+                List<Task> taskList = tasks == null ? Collections.emptyList() : Arrays.asList(tasks);
+                return new FeedSnapshot(objectMapper.writeValueAsBytes(taskList), taskList.size(),
+                        System.currentTimeMillis());
+            } catch (Exception e) {
+                fetchErrors("snapshot").increment();
+                throw e;
+            }
+        });
+    }
+
     //fetch task from external API and store it into database
-    public String fetchAndStoreTasksFromExternalAPI() {
+    public ImportResult fetchAndStoreTasksFromExternalAPI() {
 
         try {
-            Task[] tasks = restTemplate.getForObject(API_URL, Task[].class);
+            Task[] tasks = restTemplate.getForObject(apiUrl, Task[].class);
             if (tasks != null && tasks.length > 0) {
                 List<Task> taskList = Arrays.asList(tasks);
 
+                LocalDateTime now = LocalDateTime.now();
                 for (Task task : taskList) {
-                    task.setCreatedAt(LocalDateTime.now());
-                    taskRepository.save(task);
+                    task.setCreatedAt(now);
                 }
 
-                return "Tasks stored successfully.";
+                return taskBulkRepository.upsertAll(taskList);
             }
-            return "No tasks found in the external API.";
+            return new ImportResult();
         } catch (Exception e) {
-            System.err.println("Error fetching tasks from external API: " + e.getMessage());
-            return "Failed to fetch and store tasks.";
+            fetchErrors("import").increment();
+            logger.error("Error fetching tasks from external API: {}", e.getMessage());
+            return null;
         }
     }
 
+    //stream tasks from external API into the database batch by batch, each batch commits on its own
+    public ImportResult streamAndStoreTasksFromExternalAPI() {
+        long start = System.currentTimeMillis();
+        ImportResult result = new ImportResult();
+        try {
+            taskFeedReader.read(apiUrl, taskBulkRepository.getBatchSize(), batch -> {
+                LocalDateTime now = LocalDateTime.now();
+                for (Task task : batch) {
+                    task.setCreatedAt(now);
+                }
+                taskBulkRepository.upsertChunk(batch, result);
+            });
+            result.setElapsedMs(System.currentTimeMillis() - start);
+            return result;
+        } catch (Exception e) {
+            fetchErrors("stream").increment();
+            logger.error("Error streaming tasks from external API: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    //delta-sync tasks from external API, only new and changed tasks are written
+    public ImportResult syncTasksFromExternalAPI() {
+        long start = System.currentTimeMillis();
+        ImportResult result = new ImportResult();
+        try {
+            taskFeedReader.read(apiUrl, taskBulkRepository.getBatchSize(),
+                    batch -> taskBulkRepository.syncChunk(batch, result));
+            result.setElapsedMs(System.currentTimeMillis() - start);
+            return result;
+        } catch (Exception e) {
+            fetchErrors("sync").increment();
+            logger.error("Error syncing tasks from external API: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    //failed calls to the todo API, by operation; HTTP-level timings come from http.client.requests
+    private Counter fetchErrors(String operation) {
+        return Counter.builder("todo.api.fetch.errors")
+                .description("Failed fetches from the external todo API")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
     //Get all stored tasks from database
     public List<Task> getAll() {
         try {
             List<Task> tasks = taskRepository.findAll();
             return tasks.isEmpty() ? Collections.emptyList() : tasks;
         } catch (Exception e) {
-            System.err.println("Error retrieving tasks from database: " + e.getMessage());
+            logger.error("Error retrieving tasks from database: {}", e.getMessage());
             return Collections.emptyList();
         }
     }
 
+    //Stream all stored tasks as newline-delimited JSON, detaching each entity once written
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<Task> tasks = taskRepository.streamAll();
+             SequenceWriter writer = objectMapper.writer()
+                     .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                     .withRootValueSeparator("\n")
+                     .writeValues(out)) {
+            Iterator<Task> it = tasks.iterator();
+            while (it.hasNext()) {
+                Task task = it.next();
+                writer.write(task);
+                entityManager.detach(task);
+                if (++count % EXPORT_FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+            if (count > 0) {
+                out.write('\n');
+            }
+        }
+        return count;
+    }
+
     // Implement pagination for fetching stored tasks.
     public Page<Task> getAllTasks(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         return taskRepository.findAll(pageable);
     }
 
-    //Get task by ID to retrieve task details from the database.
+    //Keyset pagination, returns tasks after the cursor and a cursor for the next page without counting rows.
+    //Read-only transaction: Hibernate skips dirty checking and never flushes the session.
+    @Transactional(readOnly = true)
+    public CursorPage<TaskView> getTasksAfter(String cursor, int size, Long userId, Boolean completed) {
+        long afterId = TaskCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<TaskView> tasks;
+        if (userId != null && completed != null) {
+            tasks = taskRepository.findViewsByUserIdAndCompletedAndIdGreaterThanOrderByIdAsc(userId, completed, afterId, limit);
+        } else if (userId != null) {
+            tasks = taskRepository.findViewsByUserIdAndIdGreaterThanOrderByIdAsc(userId, afterId, limit);
+        } else if (completed != null) {
+            tasks = taskRepository.findViewsByCompletedAndIdGreaterThanOrderByIdAsc(completed, afterId, limit);
+        } else {
+            tasks = taskRepository.findViewsByIdGreaterThanOrderByIdAsc(afterId, limit);
+        }
+
+        if (tasks.size() <= pageSize) {
+            return new CursorPage<>(tasks, null);
+        }
+        List<TaskView> page = tasks.subList(0, pageSize);
+        return new CursorPage<>(page, TaskCursor.encode(page.get(pageSize - 1).getId()));
+    }
+
+    //Keyset page of the tasks owned by a user, reads only that user's index range
+    @Transactional(readOnly = true)
+    public CursorPage<TaskView> getTasksOwnedBy(User owner, String cursor, int size, Boolean completed) {
+        return getTasksAfter(cursor, size, owner.getId(), completed);
+    }
+
+    //Get a task only if it belongs to the user, other users' tasks are reported as not found;
+    //getTaskById is called on this, not the proxy, so the read-only transaction is declared here too
+    @Transactional(readOnly = true)
+    public Task getTaskOwnedBy(User owner, Long id) {
+        Task task = getTaskById(id);
+        if (!owner.getId().equals(task.getUserId())) {
+            throw new TaskNotFoundException(id);
+        }
+        return task;
+    }
+
+    //Count one user's tasks per completion status
+    public Map<CompletionStatus, Long> getTaskCountsOwnedBy(User owner) {
+        return toStatusCounts(taskRepository.countByCompletionStatusForUser(owner.getId()));
+    }
+
+    //Filter stored tasks by user, status and date range, sorted by an indexed column
+    public Page<Task> filterTasks(Long userId, Boolean completed, String dateField, LocalDateTime from,
+                                  LocalDateTime to, String sort, int page, int size) {
+        if (!SORTABLE_FIELDS.contains(dateField) || "id".equals(dateField)) {
+            throw new InvalidTaskQueryException("dateField must be createdAt or updatedAt");
+        }
+        Specification<Task> spec = Specification.where(TaskSpecifications.hasUserId(userId))
+                .and(TaskSpecifications.hasCompleted(completed))
+                .and(TaskSpecifications.inDateRange(dateField, from, to));
+        Pageable pageable = PageRequest.of(page, Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE)), parseSort(sort));
+        return taskRepository.findAll(spec, pageable);
+    }
+
+    //sort is "field" or "field,asc|desc", restricted to indexed columns
+    private Sort parseSort(String sort) {
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new InvalidTaskQueryException("Cannot sort by " + field + ", use one of " + SORTABLE_FIELDS);
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(() -> new InvalidTaskQueryException("Invalid sort direction in " + sort))
+                : Sort.Direction.ASC;
+        Sort result = Sort.by(direction, field);
+        return "id".equals(field) ? result : result.and(Sort.by(direction, "id"));
+    }
+
+    //Get task by ID to retrieve task details from the database, loaded as a projection on a cache miss
+    @Transactional(readOnly = true)
     public Task getTaskById(Long id) {
-        return taskRepository.findById(id)
+        Task cached = taskCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long loadStamp = taskCache.beginLoad(id);
+        Task task = taskRepository.findViewById(id)
+                .map(TaskService::toTask)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+        taskCache.put(task, loadStamp);
+        return task;
+    }
+
+    //Update task details using an ID, rejecting the write when expectedVersion no longer matches
+    public Task updateTask(Long id, Task updatedTask, Long expectedVersion) {
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+        if (expectedVersion != null && task.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException(id);
+        }
+        String oldTitle = task.getTitle();
+        task.setTitle(updatedTask.getTitle());
+        task.setCompleted(updatedTask.getCompleted());
+        task.setUserId(updatedTask.getUserId());
+        task.setUpdatedAt(LocalDateTime.now());
+        Task saved;
+        try {
+            saved = taskRepository.save(task);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            taskCache.evict(id);
+            throw new PreconditionFailedException(id);
+        }
+        taskCache.putWritten(saved);
+        eventPublisher.publishEvent(TasksChangedEvent.of(TaskChange.updated(oldTitle, saved)));
+        return saved;
+    }
+
+    //Partial update straight in SQL, only the columns present in the patch are written;
+    //the response is the updated row read back as a projection, no entity is loaded
+    @Transactional
+    public Task patchTask(Long id, TaskPatch patch, Long expectedVersion) {
+        String oldTitle = patch.getTitle() != null ? taskRepository.findTitleById(id).orElse(null) : null;
+        int updated = taskBulkRepository.patchOne(id, patch, expectedVersion, LocalDateTime.now());
+        if (updated == 0) {
+            if (taskRepository.findVersionById(id).isEmpty()) {
+                throw new TaskNotFoundException(id);
+            }
+            throw new PreconditionFailedException(id);
+        }
+        Task task = taskRepository.findViewById(id)
+                .map(TaskService::toTask)
                 .orElseThrow(() -> new TaskNotFoundException(id));
+        taskCache.evictAll(List.of(id));
+        eventPublisher.publishEvent(TasksChangedEvent.of(
+                TaskChange.updated(oldTitle != null ? oldTitle : task.getTitle(), task)));
+        return task;
+    }
+
+    //Delete a task from the database using an ID, rejecting the delete when expectedVersion no longer matches.
+    //The row is deleted at the version it was read at, so the title removed from the index is the deleted one;
+    //without an expected version a concurrent update just means reading the row again.
+    @Transactional
+    public String deleteTask(Long id, Long expectedVersion) {
+        while (true) {
+            TaskView task = taskRepository.findViewById(id)
+                    .orElseThrow(() -> new TaskNotFoundException(id));
+            if (expectedVersion != null && task.getVersion() != expectedVersion) {
+                throw new PreconditionFailedException(id);
+            }
+            if (taskBulkRepository.deleteOne(id, task.getVersion()) == 1) {
+                taskCache.evict(id);
+                eventPublisher.publishEvent(TasksChangedEvent.of(TaskChange.deleted(id, task.getTitle())));
+                return "Task with ID " + id + " deleted successfully.";
+            }
+        }
     }
 
-    //Update task details using an ID.
-    public Task updateTask(Long id, Task updatedTask) {
-        return taskRepository.findById(id).map(task -> {
-            task.setTitle(updatedTask.getTitle());
-            task.setCompleted(updatedTask.getCompleted());
-            task.setUserId(updatedTask.getUserId());
-            task.setUpdatedAt(LocalDateTime.now());
-            return taskRepository.save(task);
-        }).orElseThrow(() -> new TaskNotFoundException(id));
+    //Create a task owned by the given user, the id comes from the task sequence
+    @Transactional
+    public Task createTask(User owner, Task request) {
+        return createTasks(owner, List.of(request)).get(0);
     }
 
-    //Delete a task from the database using an ID.
-    public String deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new TaskNotFoundException(id);
+    //Create many tasks in one transaction, inserted as JDBC batches
+    @Transactional
+    public List<Task> createTasks(User owner, List<Task> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new InvalidTaskQueryException("At most " + MAX_BATCH_SIZE + " tasks per batch");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(requests.size());
+        for (Task request : requests) {
+            Task task = new Task();
+            task.setUserId(owner.getId());
+            task.setTitle(request.getTitle());
+            task.setCompleted(request.getCompleted() != null ? request.getCompleted() : Boolean.FALSE);
+            task.setCreatedAt(now);
+            tasks.add(task);
+        }
+        List<Task> saved = taskRepository.saveAll(tasks);
+
+        List<TaskChange> changes = new ArrayList<>(saved.size());
+        for (Task task : saved) {
+            changes.add(TaskChange.created(task));
         }
-        taskRepository.deleteById(id);
-        return "Task with ID " + id + " deleted successfully.";
+        eventPublisher.publishEvent(new TasksChangedEvent(changes));
+        return saved;
+    }
+
+    //Mark many tasks completed (or pending) with a single UPDATE ... WHERE id IN (...)
+    @Transactional
+    public List<BatchItemResult> completeTasks(List<Long> ids, Boolean completed) {
+        Map<Long, TaskView> existing = loadForBatch(ids);
+        LocalDateTime now = LocalDateTime.now();
+        if (!existing.isEmpty()) {
+            taskRepository.updateCompletedByIds(existing.keySet(), completed, now);
+        }
+
+        List<TaskChange> changes = new ArrayList<>(existing.size());
+        for (TaskView view : existing.values()) {
+            Task task = toTask(view);
+            task.setCompleted(completed);
+            task.setUpdatedAt(now);
+            task.setVersion(view.getVersion() + 1);
+            changes.add(TaskChange.updated(view.getTitle(), task));
+        }
+        afterBatchWrite(existing.keySet(), changes);
+        return outcomes(ids, existing.keySet(), BatchItemResult.Outcome.UPDATED);
+    }
+
+    //Apply many partial updates as one JDBC batch
+    @Transactional
+    public List<BatchItemResult> patchTasks(List<TaskPatch> patches) {
+        Map<Long, TaskPatch> byId = new LinkedHashMap<>();
+        for (TaskPatch patch : patches) {
+            if (patch.getId() != null) {
+                byId.put(patch.getId(), patch);
+            }
+        }
+        Map<Long, TaskView> existing = loadForBatch(new ArrayList<>(byId.keySet()));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<TaskPatch> toApply = new ArrayList<>(existing.size());
+        List<TaskChange> changes = new ArrayList<>(existing.size());
+        for (TaskView view : existing.values()) {
+            TaskPatch patch = byId.get(view.getId());
+            toApply.add(patch);
+            Task task = toTask(view);
+            if (patch.getUserId() != null) {
+                task.setUserId(patch.getUserId());
+            }
+            if (patch.getTitle() != null) {
+                task.setTitle(patch.getTitle());
+            }
+            if (patch.getCompleted() != null) {
+                task.setCompleted(patch.getCompleted());
+            }
+            task.setUpdatedAt(now);
+            task.setVersion(view.getVersion() + 1);
+            changes.add(TaskChange.updated(view.getTitle(), task));
+        }
+        if (!toApply.isEmpty()) {
+            taskBulkRepository.patchAll(toApply, now);
+        }
+        afterBatchWrite(existing.keySet(), changes);
+        return outcomes(patches.stream().map(TaskPatch::getId).toList(), existing.keySet(),
+                BatchItemResult.Outcome.UPDATED);
+    }
+
+    //Delete many tasks with a single DELETE ... WHERE id IN (...)
+    @Transactional
+    public List<BatchItemResult> deleteTasks(List<Long> ids) {
+        Map<Long, TaskView> existing = loadForBatch(ids);
+        if (!existing.isEmpty()) {
+            taskRepository.deleteAllByIdInBatch(existing.keySet());
+        }
+
+        List<TaskChange> changes = new ArrayList<>(existing.size());
+        for (TaskView view : existing.values()) {
+            changes.add(TaskChange.deleted(view.getId(), view.getTitle()));
+        }
+        afterBatchWrite(existing.keySet(), changes);
+        return outcomes(ids, existing.keySet(), BatchItemResult.Outcome.DELETED);
+    }
+
+    private Map<Long, TaskView> loadForBatch(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new InvalidTaskQueryException("At most " + MAX_BATCH_SIZE + " tasks per batch");
+        }
+        Map<Long, TaskView> existing = new LinkedHashMap<>();
+        for (TaskView view : taskRepository.findViewsByIdIn(new LinkedHashSet<>(ids))) {
+            existing.put(view.getId(), view);
+        }
+        return existing;
+    }
+
+    private void afterBatchWrite(Collection<Long> ids, List<TaskChange> changes) {
+        taskCache.evictAll(ids);
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new TasksChangedEvent(changes));
+        }
+    }
+
+    private static List<BatchItemResult> outcomes(List<Long> requested, Set<Long> found, BatchItemResult.Outcome outcome) {
+        List<BatchItemResult> results = new ArrayList<>();
+        if (requested == null) {
+            return results;
+        }
+        Set<Long> seen = new HashSet<>();
+        for (Long id : requested) {
+            if (id != null && seen.add(id)) {
+                results.add(new BatchItemResult(id, found.contains(id) ? outcome : BatchItemResult.Outcome.NOT_FOUND));
+            }
+        }
+        return results;
+    }
+
+    private static Task toTask(TaskView view) {
+        Task task = new Task();
+        task.setId(view.getId());
+        task.setUserId(view.getUserId());
+        task.setTitle(view.getTitle());
+        task.setCompleted(view.getCompleted());
+        task.setCreatedAt(view.getCreatedAt());
+        task.setUpdatedAt(view.getUpdatedAt());
+        task.setVersion(view.getVersion());
+        return task;
+    }
+
+    //Full-text search over task titles, ranked by the title index
+    public List<Task> searchTasks(String query, int limit) {
+        List<SearchHit> hits = taskTitleIndex.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+        if (hits.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Task> byId = new HashMap<>();
+        for (Task task : taskRepository.findAllById(hits.stream().map(SearchHit::taskId).toList())) {
+            byId.put(task.getId(), task);
+        }
+        List<Task> ranked = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            Task task = byId.get(hit.taskId());
+            if (task != null) {
+                ranked.add(task);
+            }
+        }
+        return ranked;
     }
 
     //Get grouped tasks by completion status to retrieve tasks grouped into completed and pending categories
@@ -113,7 +596,45 @@ public class TaskService {
 
         List<Task> tasks = taskRepository.findAll();
 
+        //tasks without a completed flag are grouped with the pending ones; this map has no room for
+        //a third key, the status-based endpoints report them as CompletionStatus.UNKNOWN instead
         return tasks.stream()
-                .collect(Collectors.groupingBy(Task::getCompleted));
+                .collect(Collectors.groupingBy(task -> Boolean.TRUE.equals(task.getCompleted())));
+    }
+
+    //Count tasks per completion status with a single GROUP BY query
+    public Map<CompletionStatus, Long> getTaskCountsByCompletionStatus() {
+        return toStatusCounts(taskRepository.countByCompletionStatus());
+    }
+
+    private static Map<CompletionStatus, Long> toStatusCounts(List<TaskStatusCount> rows) {
+        Map<CompletionStatus, Long> counts = new EnumMap<>(CompletionStatus.class);
+        for (CompletionStatus status : CompletionStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (TaskStatusCount row : rows) {
+            counts.merge(CompletionStatus.of(row.getCompleted()), row.getCount(), Long::sum);
+        }
+        return counts;
+    }
+
+    //Get one completion-status group as projections, paged by keyset
+    @Transactional(readOnly = true)
+    public CursorPage<TaskView> getTasksByCompletionStatus(CompletionStatus status, String cursor, int size) {
+        long afterId = TaskCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<TaskView> tasks = switch (status) {
+            case COMPLETED -> taskRepository.findViewsByCompletedAndIdGreaterThanOrderByIdAsc(true, afterId, limit);
+            case PENDING -> taskRepository.findViewsByCompletedAndIdGreaterThanOrderByIdAsc(false, afterId, limit);
+            case UNKNOWN -> taskRepository.findViewsByCompletedIsNullAndIdGreaterThanOrderByIdAsc(afterId, limit);
+        };
+
+        if (tasks.size() <= pageSize) {
+            return new CursorPage<>(tasks, null);
+        }
+        List<TaskView> page = tasks.subList(0, pageSize);
+        return new CursorPage<>(page, TaskCursor.encode(page.get(pageSize - 1).getId()));
     }
-}
\ No newline at end of file
+}
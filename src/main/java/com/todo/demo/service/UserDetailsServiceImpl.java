@@ -1,5 +1,7 @@
 package com.todo.demo.service;
 
+import com.todo.demo.cache.UserPrincipalCache;
+import com.todo.demo.model.User;
 import com.todo.demo.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,9 +15,18 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     public UserRepository userRepository;
 
+    @Autowired
+    public UserPrincipalCache userPrincipalCache;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepository.findByEmail(email)
+        User cached = userPrincipalCache.get(email);
+        if (cached != null) {
+            return cached;
+        }
+        User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        userPrincipalCache.put(user);
+        return user;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+-- Secondary indexes on the task table, matching the @Index declarations on Task.
+-- spring.jpa.hibernate.ddl-auto=update creates them automatically; run this script
+-- on databases where schema updates are applied by hand.
+
+CREATE INDEX idx_task_user_id ON task (user_id);
+CREATE INDEX idx_task_completed ON task (completed);
+CREATE INDEX idx_task_created_at ON task (created_at);
+CREATE INDEX idx_task_updated_at ON task (updated_at);
+CREATE INDEX idx_task_user_completed ON task (user_id, completed);
@@ -0,0 +1,5 @@
+-- Optimistic lock column backing Task.version and the task ETag.
+-- spring.jpa.hibernate.ddl-auto=update adds it automatically; run this script
+-- on databases where schema updates are applied by hand.
+
+ALTER TABLE task ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,7 @@
+-- Id block allocator for tasks created through the API (Task.id, pooled-lo, blocks of 100).
+-- MySQL has no sequences, Hibernate emulates task_seq with this one-row table.
+-- spring.jpa.hibernate.ddl-auto=update creates it automatically; run this script
+-- on databases where schema updates are applied by hand.
+
+CREATE TABLE task_seq (next_val BIGINT);
+INSERT INTO task_seq VALUES (1000000000);
@@ -0,0 +1,8 @@
+-- Composite indexes for /tasks/filter with a userId and sort=createdAt or sort=updatedAt,
+-- matching the @Index declarations on Task. Without them the database picks either the
+-- user_id index and sorts the user's rows, or the date index and scans every user.
+-- spring.jpa.hibernate.ddl-auto=update creates them automatically; run this script
+-- on databases where schema updates are applied by hand.
+
+CREATE INDEX idx_task_user_created_at ON task (user_id, created_at);
+CREATE INDEX idx_task_user_updated_at ON task (user_id, updated_at);
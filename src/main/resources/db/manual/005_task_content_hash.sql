@@ -0,0 +1,6 @@
+-- Hash of user_id, title and completed, written by imports and compared by delta sync
+-- (Task.contentHash). Existing rows may keep NULL, sync computes their hash from the row.
+-- spring.jpa.hibernate.ddl-auto=update adds it automatically; run this script
+-- on databases where schema updates are applied by hand.
+
+ALTER TABLE task ADD COLUMN content_hash VARCHAR(64) NULL;
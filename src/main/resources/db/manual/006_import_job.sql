@@ -0,0 +1,22 @@
+-- Background import jobs and their checkpoint (ImportJob), see /tasks/import-jobs.
+-- spring.jpa.hibernate.ddl-auto=update creates it automatically; run this script
+-- on databases where schema updates are applied by hand.
+
+CREATE TABLE import_job (
+    id VARCHAR(36) NOT NULL,
+    status VARCHAR(16),
+    mode VARCHAR(16),
+    source_url VARCHAR(255),
+    committed_rows BIGINT NOT NULL,
+    total_rows BIGINT,
+    inserted BIGINT NOT NULL,
+    updated BIGINT NOT NULL,
+    skipped BIGINT NOT NULL,
+    unchanged BIGINT NOT NULL,
+    errors INT NOT NULL,
+    last_error VARCHAR(1000),
+    created_at DATETIME(6),
+    started_at DATETIME(6),
+    finished_at DATETIME(6),
+    PRIMARY KEY (id)
+);
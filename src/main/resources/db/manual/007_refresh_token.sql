@@ -0,0 +1,18 @@
+-- Rotating refresh tokens (RefreshToken), only the SHA-256 hash of each token is stored.
+-- spring.jpa.hibernate.ddl-auto=update creates it automatically; run this script
+-- on databases where schema updates are applied by hand.
+
+CREATE TABLE refresh_token (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    token_hash VARCHAR(64) NOT NULL,
+    user_id BIGINT NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    created_at DATETIME(6),
+    expires_at DATETIME(6),
+    used_at DATETIME(6),
+    revoked_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+CREATE UNIQUE INDEX idx_refresh_token_hash ON refresh_token (token_hash);
+CREATE INDEX idx_refresh_token_family ON refresh_token (family_id);
+CREATE INDEX idx_refresh_token_user ON refresh_token (user_id);
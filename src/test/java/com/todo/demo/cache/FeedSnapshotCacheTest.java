@@ -0,0 +1,92 @@
+package com.todo.demo.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class FeedSnapshotCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(50);
+    private FeedSnapshotCache cache;
+
+    @AfterEach
+    void shutdown() {
+        callers.shutdownNow();
+        cache.shutdown();
+    }
+
+    @Test
+    void concurrentMissesShareOneDownload() throws Exception {
+        cache = new FeedSnapshotCache(60_000, 0, registry);
+        AtomicInteger downloads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<FeedSnapshot>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(callers.submit(() -> cache.get(() -> {
+                downloads.incrementAndGet();
+                release.await(5, TimeUnit.SECONDS);
+                return snapshot(System.currentTimeMillis());
+            })));
+        }
+        awaitCount(() -> registry.get("task.feed.snapshot.requests").tag("result", "miss").counter().count(), 50);
+        release.countDown();
+
+        FeedSnapshot first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<FeedSnapshot> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, downloads.get());
+        assertEquals(49, registry.get("task.feed.snapshot.coalesced").counter().count());
+    }
+
+    @Test
+    void staleSnapshotIsServedWhileRefreshing() throws Exception {
+        cache = new FeedSnapshotCache(1_000, 60_000, registry);
+        FeedSnapshot old = snapshot(System.currentTimeMillis() - 5_000);
+        FeedSnapshot fresh = snapshot(System.currentTimeMillis());
+        cache.get(() -> old);
+
+        CountDownLatch refreshed = new CountDownLatch(1);
+        assertSame(old, cache.get(() -> {
+            refreshed.countDown();
+            return fresh;
+        }));
+        assertTrue(refreshed.await(5, TimeUnit.SECONDS), "stale hit did not start a refresh");
+        awaitCount(() -> registry.get("task.feed.snapshot.refresh").tag("outcome", "success").timer().count(), 2);
+        assertSame(fresh, cache.get(() -> {
+            throw new IllegalStateException("fresh snapshot must be served from memory");
+        }));
+    }
+
+    //poll until the meter reaches expected, failing instead of hanging the build
+    private static void awaitCount(DoubleSupplier count, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count.getAsDouble() < expected) {
+            if (System.nanoTime() > deadline) {
+                fail("expected " + expected + " but was " + count.getAsDouble());
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static FeedSnapshot snapshot(long createdAt) {
+        return new FeedSnapshot("[{\"id\":1}]".getBytes(), 1, createdAt);
+    }
+}
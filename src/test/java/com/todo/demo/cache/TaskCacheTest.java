@@ -0,0 +1,101 @@
+package com.todo.demo.cache;
+
+import com.todo.demo.model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskCacheTest {
+
+    private final TaskCache cache = new TaskCache(true, 100, 60_000);
+    private final ExecutorService loaders = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void shutdown() {
+        loaders.shutdownNow();
+    }
+
+    @Test
+    void loadThatReadBeforeAnUpdateDoesNotOverwriteIt() throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+
+        //the loader reads version 1, then stalls until the writer has committed and cached version 2
+        Future<?> loader = loaders.submit(() -> {
+            long stamp = cache.beginLoad(1L);
+            Task stale = task(1L, 1);
+            loaded.countDown();
+            written.await(5, TimeUnit.SECONDS);
+            cache.put(stale, stamp);
+            return null;
+        });
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        cache.putWritten(task(1L, 2));
+        written.countDown();
+        loader.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, cache.get(1L).getVersion());
+    }
+
+    @Test
+    void loadThatReadBeforeADeleteIsNotCached() {
+        long stamp = cache.beginLoad(1L);
+        Task stale = task(1L, 1);
+        cache.evict(1L);
+        cache.put(stale, stamp);
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void loadStartedInsideTheWritingTransactionIsDroppedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict(1L);
+            //a reader that starts after the first eviction still sees the uncommitted row as version 1
+            long stamp = cache.beginLoad(1L);
+            cache.put(task(1L, 1), stamp);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void loadWithoutInterveningWriteIsCached() {
+        long stamp = cache.beginLoad(1L);
+        cache.evict(2L);
+        cache.put(task(1L, 1), stamp);
+
+        assertEquals(1, cache.get(1L).getVersion());
+    }
+
+    @Test
+    void writerNeverReplacesANewerVersion() {
+        cache.putWritten(task(1L, 3));
+        cache.putWritten(task(1L, 2));
+
+        assertEquals(3, cache.get(1L).getVersion());
+    }
+
+    private static Task task(Long id, long version) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("task " + id);
+        task.setVersion(version);
+        return task;
+    }
+}
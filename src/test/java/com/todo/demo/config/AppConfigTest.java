@@ -0,0 +1,100 @@
+package com.todo.demo.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AppConfigTest {
+
+    private static final String FEED = "[{\"userId\":1,\"id\":1,\"title\":\"delectus aut autem\",\"completed\":false}]";
+    private static final String ETAG = "\"feed-v1\"";
+
+    private final List<Integer> statuses = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void startStubServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/todos", exchange -> {
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            exchange.getResponseHeaders().add("Cache-Control", "no-cache");
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                statuses.add(304);
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = FEED.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            statuses.add(200);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/todos";
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void unchangedFeedIsRevalidatedWithConditionalGet() throws Exception {
+        TodoApiHttpProperties properties = properties(20);
+        AppConfig config = new AppConfig();
+        try (CloseableHttpClient client = config.todoApiHttpClient(properties)) {
+            RestTemplate restTemplate = config.restTemplate(new RestTemplateBuilder(), client, properties);
+
+            String first = restTemplate.getForObject(url, String.class);
+            String second = restTemplate.getForObject(url, String.class);
+
+            assertEquals(FEED, first);
+            assertEquals(FEED, second);
+            assertEquals(List.of(200, 304), statuses);
+        }
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondTheConcurrencyLimit() throws Exception {
+        TodoApiHttpProperties properties = properties(1);
+        AppConfig config = new AppConfig();
+        try (CloseableHttpClient client = config.todoApiHttpClient(properties)) {
+            RestTemplate restTemplate = config.restTemplate(new RestTemplateBuilder(), client, properties);
+
+            //keep the only permit busy by calling out from inside an open response
+            assertThrows(ResourceAccessException.class, () ->
+                    restTemplate.execute(url, HttpMethod.GET, null,
+                            response -> restTemplate.getForObject(url, String.class)));
+
+            //the permit is released once the outer response is closed
+            assertEquals(FEED, restTemplate.getForObject(url, String.class));
+        }
+    }
+
+    private static TodoApiHttpProperties properties(int maxConcurrentCalls) {
+        return new TodoApiHttpProperties(10, 5, Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(2),
+                Duration.ofSeconds(30), true, maxConcurrentCalls, Duration.ofMillis(100), true, 16,
+                DataSize.ofMegabytes(1));
+    }
+}
@@ -0,0 +1,166 @@
+package com.todo.demo.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todo.demo.exception.PreconditionFailedException;
+import com.todo.demo.json.TaskJsonWriter;
+import com.todo.demo.model.Task;
+import com.todo.demo.model.TaskPatch;
+import com.todo.demo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskControllerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final TaskService taskService = mock(TaskService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        TaskController controller = new TaskController();
+        ReflectionTestUtils.setField(controller, "taskService", taskService);
+        ReflectionTestUtils.setField(controller, "taskJsonWriter", new TaskJsonWriter(objectMapper));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void getReturnsTheVersionAsETagAndNotModifiedWhenItMatches() throws Exception {
+        when(taskService.getTaskById(7L)).thenReturn(task(7L, 3));
+
+        mockMvc.perform(get("/tasks/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.title").value("task 7"));
+        mockMvc.perform(get("/tasks/7").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/tasks/7").header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void fieldSelectionHasItsOwnETag() throws Exception {
+        when(taskService.getTaskById(7L)).thenReturn(task(7L, 3));
+
+        mockMvc.perform(get("/tasks/7").param("fields", "id,title"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3-5\""))
+                .andExpect(jsonPath("$.completed").doesNotExist());
+        mockMvc.perform(get("/tasks/7").param("fields", "id,title").header("If-None-Match", "\"3-5\""))
+                .andExpect(status().isNotModified());
+        //a cached full response does not validate a selection, nor the other way round
+        mockMvc.perform(get("/tasks/7").param("fields", "id,title").header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/tasks/7").header("If-None-Match", "\"3-5\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void putPassesTheIfMatchVersionAndReturnsTheNewETag() throws Exception {
+        when(taskService.updateTask(eq(7L), any(), eq(3L))).thenReturn(task(7L, 4));
+
+        mockMvc.perform(put("/tasks/7").header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"task 7\",\"completed\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    void ifMatchAcceptsTheETagOfAFieldSelection() throws Exception {
+        when(taskService.updateTask(eq(7L), any(), eq(3L))).thenReturn(task(7L, 4));
+
+        mockMvc.perform(put("/tasks/7").header("If-Match", "\"3-5\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"task 7\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void staleIfMatchIsRejectedWithPreconditionFailed() throws Exception {
+        when(taskService.updateTask(eq(7L), any(), eq(2L))).thenThrow(new PreconditionFailedException(7L));
+        when(taskService.patchTask(eq(7L), any(), eq(2L))).thenThrow(new PreconditionFailedException(7L));
+
+        mockMvc.perform(put("/tasks/7").header("If-Match", "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"task 7\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/tasks/7").header("If-Match", "W/\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"completed\":true}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void deletePassesTheIfMatchVersionAndRejectsAStaleOne() throws Exception {
+        when(taskService.deleteTask(7L, 3L)).thenReturn("Task with ID 7 deleted successfully.");
+        when(taskService.deleteTask(7L, 2L)).thenThrow(new PreconditionFailedException(7L));
+
+        mockMvc.perform(delete("/tasks/7").header("If-Match", "\"3\""))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/tasks/7").header("If-Match", "\"2\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/tasks/8"))
+                .andExpect(status().isOk());
+        verify(taskService).deleteTask(8L, null);
+    }
+
+    @Test
+    void patchSendsOnlyTheGivenFieldsAndReturnsTheNewETag() throws Exception {
+        Task patched = task(7L, 5);
+        patched.setCompleted(true);
+        when(taskService.patchTask(eq(7L), any(), isNull())).thenReturn(patched);
+
+        mockMvc.perform(patch("/tasks/7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"completed\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(jsonPath("$.completed").value(true));
+
+        ArgumentCaptor<TaskPatch> sent = ArgumentCaptor.forClass(TaskPatch.class);
+        verify(taskService).patchTask(eq(7L), sent.capture(), isNull());
+        assertEquals(Boolean.TRUE, sent.getValue().getCompleted());
+        assertNull(sent.getValue().getTitle());
+    }
+
+    private static Task task(Long id, long version) {
+        Task task = new Task();
+        task.setId(id);
+        task.setUserId(1L);
+        task.setTitle("task " + id);
+        task.setCompleted(false);
+        task.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0));
+        task.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 0, 0));
+        task.setVersion(version);
+        return task;
+    }
+}
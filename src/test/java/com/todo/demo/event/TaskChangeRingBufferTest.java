@@ -0,0 +1,86 @@
+package com.todo.demo.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskChangeRingBufferTest {
+
+    @Test
+    void readsChangesInOrderAfterTheGivenSequence() {
+        TaskChangeRingBuffer buffer = new TaskChangeRingBuffer(8, 100);
+        for (int i = 0; i < 5; i++) {
+            buffer.publish(sequence -> data("c" + sequence));
+        }
+
+        List<TaskChangeRingBuffer.Entry> out = new ArrayList<>();
+        assertEquals(TaskChangeRingBuffer.ReadStatus.OK, buffer.readAfter(101, 10, out));
+        assertEquals(List.of(102L, 103L, 104L), out.stream().map(TaskChangeRingBuffer.Entry::sequence).toList());
+        assertEquals("c102", new String(out.get(0).data(), StandardCharsets.UTF_8));
+
+        out.clear();
+        assertEquals(TaskChangeRingBuffer.ReadStatus.OK, buffer.readAfter(99, 2, out));
+        assertEquals(List.of(100L, 101L), out.stream().map(TaskChangeRingBuffer.Entry::sequence).toList());
+    }
+
+    @Test
+    void reportsReadersThatFellBehindTheBuffer() {
+        TaskChangeRingBuffer buffer = new TaskChangeRingBuffer(5, 1);
+        assertEquals(8, buffer.capacity());
+        for (int i = 0; i < 20; i++) {
+            buffer.publish(sequence -> data("c" + sequence));
+        }
+
+        List<TaskChangeRingBuffer.Entry> out = new ArrayList<>();
+        assertEquals(TaskChangeRingBuffer.ReadStatus.LAPPED, buffer.readAfter(5, 10, out));
+        assertEquals(TaskChangeRingBuffer.ReadStatus.LAPPED, buffer.readAfter(-1, 10, out));
+        assertEquals(TaskChangeRingBuffer.ReadStatus.OK, buffer.readAfter(12, 10, out));
+        assertEquals(8, out.size());
+
+        assertTrue(buffer.canResumeAfter(20));
+        assertTrue(buffer.canResumeAfter(12));
+        assertFalse(buffer.canResumeAfter(11));
+        assertFalse(buffer.canResumeAfter(21));
+    }
+
+    @Test
+    void concurrentPublishersGetDistinctSequences() throws Exception {
+        TaskChangeRingBuffer buffer = new TaskChangeRingBuffer(1 << 16, 1);
+        ExecutorService writers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            writers.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 5000; i++) {
+                    buffer.publish(sequence -> data("x"));
+                }
+            });
+        }
+        start.countDown();
+        writers.shutdown();
+        assertTrue(writers.awaitTermination(10, TimeUnit.SECONDS));
+
+        List<TaskChangeRingBuffer.Entry> out = new ArrayList<>();
+        assertEquals(TaskChangeRingBuffer.ReadStatus.OK, buffer.readAfter(0, 100_000, out));
+        assertEquals(40_000, out.size());
+        assertEquals(40_000, out.get(out.size() - 1).sequence());
+    }
+
+    private static byte[] data(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
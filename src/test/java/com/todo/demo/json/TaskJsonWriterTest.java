@@ -0,0 +1,102 @@
+package com.todo.demo.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todo.demo.exception.InvalidTaskQueryException;
+import com.todo.demo.model.CursorPage;
+import com.todo.demo.model.Task;
+import com.todo.demo.model.TaskView;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskJsonWriterTest {
+
+    //configured like the ObjectMapper Spring Boot builds for the controllers
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final TaskJsonWriter writer = new TaskJsonWriter(objectMapper);
+
+    @Test
+    void writesTheSameJsonAsObjectMapper() throws Exception {
+        Task task = task(7L, "say \"hi\" \u00e9", LocalDateTime.of(2024, 3, 9, 8, 5, 0, 120_000_000));
+        task.setUpdatedAt(null);
+        task.setCompleted(null);
+
+        assertEquals(objectMapper.writeValueAsString(task),
+                new String(writer.writeTask(task, TaskJsonWriter.ALL_FIELDS), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writesPagesLikeObjectMapperWritesTaskPages() throws Exception {
+        List<Task> tasks = List.of(
+                task(1L, "a", LocalDateTime.of(2024, 1, 1, 0, 0)),
+                task(2L, "b", LocalDateTime.of(2024, 1, 1, 0, 0, 59, 1)));
+        CursorPage<TaskView> page = new CursorPage<>(tasks.stream().map(TaskJsonWriterTest::view).toList(), "Mg");
+
+        assertEquals(objectMapper.writeValueAsString(new CursorPage<>(tasks, "Mg")),
+                new String(writer.writePage(page, TaskJsonWriter.ALL_FIELDS), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writesOnlySelectedFields() {
+        Task task = task(3L, "pick", LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        assertEquals("{\"id\":3,\"title\":\"pick\"}",
+                new String(writer.writeTask(task, TaskJsonWriter.parseFields("title, id")), StandardCharsets.UTF_8));
+        assertThrows(InvalidTaskQueryException.class, () -> TaskJsonWriter.parseFields("id,owner"));
+    }
+
+    @Test
+    void writesAnImportChunkAsOneBulkChange() {
+        assertEquals("{\"type\":\"BULK\",\"count\":1000,\"fromTaskId\":1,\"toTaskId\":1200}",
+                new String(writer.writeBulkChange(1000, 1, 1200), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void formatsTimestampsLikeIsoLocalDateTime() {
+        char[] buffer = new char[29];
+        for (LocalDateTime value : List.of(
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59),
+                LocalDateTime.of(2024, 1, 2, 3, 4, 0, 500_000_000),
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_000),
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5, 1),
+                LocalDateTime.of(999, 1, 1, 0, 0))) {
+            int length = TaskJsonWriter.formatIsoLocalDateTime(value, buffer);
+            assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value), new String(buffer, 0, length));
+        }
+        assertEquals(-1, TaskJsonWriter.formatIsoLocalDateTime(LocalDateTime.of(12024, 1, 1, 0, 0), buffer));
+    }
+
+    private static Task task(Long id, String title, LocalDateTime createdAt) {
+        Task task = new Task();
+        task.setId(id);
+        task.setUserId(42L);
+        task.setTitle(title);
+        task.setCompleted(true);
+        task.setCreatedAt(createdAt);
+        task.setUpdatedAt(createdAt.plusSeconds(90));
+        task.setVersion(4);
+        return task;
+    }
+
+    private static TaskView view(Task task) {
+        return new TaskView() {
+            public Long getId() { return task.getId(); }
+            public Long getUserId() { return task.getUserId(); }
+            public String getTitle() { return task.getTitle(); }
+            public Boolean getCompleted() { return task.getCompleted(); }
+            public LocalDateTime getCreatedAt() { return task.getCreatedAt(); }
+            public LocalDateTime getUpdatedAt() { return task.getUpdatedAt(); }
+            public long getVersion() { return task.getVersion(); }
+        };
+    }
+}
@@ -0,0 +1,134 @@
+package com.todo.demo.search;
+
+import com.todo.demo.event.TaskChange;
+import com.todo.demo.event.TasksChangedEvent;
+import com.todo.demo.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskTitleIndexTest {
+
+    @Test
+    void postingListKeepsIdsSortedAcrossOutOfOrderAddsAndRemoves() {
+        PostingList postings = new PostingList();
+        for (long id : new long[]{5, 300, 2, 70_000, 300, 1}) {
+            postings.add(id);
+        }
+        postings.remove(70_000);
+        postings.remove(42);
+
+        assertArrayEquals(new long[]{1, 2, 5, 300}, postings.toArray());
+        assertTrue(postings.encodedBytes() < 4 * Long.BYTES);
+    }
+
+    @Test
+    void postingListMergesABatchInterleavedWithExistingIds() {
+        PostingList postings = new PostingList();
+        for (long id : new long[]{10, 20, 30, 40}) {
+            postings.add(id);
+        }
+        postings.merge(new long[]{5, 20, 25, 50}, new long[]{10, 30, 99});
+
+        assertArrayEquals(new long[]{5, 20, 25, 40, 50}, postings.toArray());
+        List<Long> visited = new ArrayList<>();
+        postings.forEach(visited::add);
+        assertEquals(List.of(5L, 20L, 25L, 40L, 50L), visited);
+    }
+
+    @Test
+    void postingListFindsAndReadsBackIdsAcrossBlocks() {
+        PostingList postings = new PostingList();
+        for (long id = 1; id <= 1000; id++) {
+            postings.add(id * 3);
+        }
+        PostingList merged = postings.copy();
+        merged.merge(new long[]{1, 2}, new long[]{3, 1500, 3000});
+
+        assertTrue(merged.contains(1) && merged.contains(6) && merged.contains(1503) && merged.contains(2997));
+        assertFalse(merged.contains(3) || merged.contains(1500) || merged.contains(3000) || merged.contains(4));
+        assertTrue(postings.contains(1500));
+        List<Long> descending = new ArrayList<>();
+        merged.forEachDescending(id -> {
+            descending.add(id);
+            return true;
+        });
+        long[] ascending = merged.toArray();
+        assertEquals(ascending.length, descending.size());
+        for (int i = 0; i < ascending.length; i++) {
+            assertEquals(ascending[i], descending.get(ascending.length - 1 - i));
+        }
+    }
+
+    @Test
+    void oneWordQueryReturnsTheNewestExactMatchesBelowBetterPrefixMatches() {
+        TaskTitleIndex index = new TaskTitleIndex();
+        List<TaskChange> changes = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            changes.add(TaskChange.created(task(id, id == 5 ? "plan planning" : "plan sprint")));
+        }
+        changes.add(TaskChange.created(task(301L, "planning")));
+        index.onTasksChanged(new TasksChangedEvent(changes));
+
+        assertEquals(List.of(300L, 299L, 298L), index.search("sprint", 3).stream().map(SearchHit::taskId).toList());
+        assertEquals(List.of(5L, 301L, 300L, 299L), index.search("plan", 4).stream().map(SearchHit::taskId).toList());
+    }
+
+    @Test
+    void appliesABatchWhereLaterChangesToATaskWin() {
+        TaskTitleIndex index = new TaskTitleIndex();
+        index.onTasksChanged(new TasksChangedEvent(List.of(
+                TaskChange.created(task(1L, "plan sprint")),
+                TaskChange.created(task(2L, "plan release")),
+                TaskChange.updated("plan release", task(2L, "ship release")),
+                TaskChange.deleted(1L, "plan sprint"),
+                TaskChange.updated("ship release", task(2L, "ship release")))));
+
+        assertTrue(index.search("plan", 10).isEmpty());
+        assertTrue(index.search("sprint", 10).isEmpty());
+        assertEquals(List.of(2L), index.search("ship release", 10).stream().map(SearchHit::taskId).toList());
+        assertEquals(2, index.termCount());
+    }
+
+    @Test
+    void ranksExactMatchesAboveMatchesOnFewerWords() {
+        TaskTitleIndex index = new TaskTitleIndex();
+        index.onTasksChanged(new TasksChangedEvent(List.of(
+                TaskChange.created(task(1L, "Write API documentation")),
+                TaskChange.created(task(2L, "Write unit tests")),
+                TaskChange.created(task(3L, "Review API design")))));
+
+        List<SearchHit> hits = index.search("write api", 10);
+
+        assertEquals(List.of(1L, 3L, 2L), hits.stream().map(SearchHit::taskId).toList());
+    }
+
+    @Test
+    void matchesLastWordAsPrefixAndFollowsUpdatesAndDeletes() {
+        TaskTitleIndex index = new TaskTitleIndex();
+        Task task = task(7L, "delectus aut autem");
+        index.onTasksChanged(TasksChangedEvent.of(TaskChange.created(task)));
+        assertEquals(1, index.search("autem del", 10).size());
+
+        index.onTasksChanged(TasksChangedEvent.of(TaskChange.updated("delectus aut autem", task(7L, "quis ut nam"))));
+        assertTrue(index.search("delectus", 10).isEmpty());
+        assertEquals(1, index.search("qu", 10).size());
+
+        index.onTasksChanged(TasksChangedEvent.of(TaskChange.deleted(7L, "quis ut nam")));
+        assertTrue(index.search("quis", 10).isEmpty());
+        assertEquals(0, index.termCount());
+    }
+
+    private static Task task(Long id, String title) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        return task;
+    }
+}
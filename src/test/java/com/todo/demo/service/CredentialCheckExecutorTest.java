@@ -0,0 +1,67 @@
+package com.todo.demo.service;
+
+import com.todo.demo.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CredentialCheckExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CredentialCheckExecutor executor = new CredentialCheckExecutor(1, 1, 5000, registry);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void returnsResultAndRethrowsCheckFailures() {
+        assertEquals("ok", executor.run(() -> "ok"));
+        assertThrows(BadCredentialsException.class, () -> executor.run(() -> {
+            throw new BadCredentialsException("bad");
+        }));
+    }
+
+    @Test
+    void rejectsWhenWorkerAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        //one check occupies the only worker, the next one fills the queue
+        callers.submit(() -> executor.run(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        }));
+        started.await();
+        callers.submit(() -> executor.run(() -> null));
+        while (registry.get("auth.bcrypt.queue.size").gauge().value() < 1) {
+            Thread.sleep(10);
+        }
+        assertThrows(TooManyLoginAttemptsException.class, () -> executor.run(() -> null));
+        release.countDown();
+    }
+
+    @Test
+    void rejectsWhenCheckTimesOut() {
+        CredentialCheckExecutor slow = new CredentialCheckExecutor(1, 1, 50, new SimpleMeterRegistry());
+        try {
+            assertThrows(TooManyLoginAttemptsException.class, () -> slow.run(() -> {
+                Thread.sleep(5000);
+                return null;
+            }));
+        } finally {
+            slow.shutdown();
+        }
+    }
+}
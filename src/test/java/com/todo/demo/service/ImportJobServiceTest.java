@@ -0,0 +1,155 @@
+package com.todo.demo.service;
+
+import com.todo.demo.model.ImportJob;
+import com.todo.demo.model.ImportJobProgress;
+import com.todo.demo.model.ImportJobStatus;
+import com.todo.demo.model.ImportMode;
+import com.todo.demo.model.Task;
+import com.todo.demo.repository.ImportJobRepository;
+import com.todo.demo.repository.TaskBulkRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImportJobServiceTest {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final ImportJobRepository importJobRepository = mock(ImportJobRepository.class);
+    private final TaskBulkRepository taskBulkRepository = mock(TaskBulkRepository.class);
+    private final TaskFeedReader taskFeedReader = mock(TaskFeedReader.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private ImportJobService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImportJobService(1, 10);
+        ReflectionTestUtils.setField(service, "importJobRepository", importJobRepository);
+        ReflectionTestUtils.setField(service, "taskBulkRepository", taskBulkRepository);
+        ReflectionTestUtils.setField(service, "taskFeedReader", taskFeedReader);
+        ReflectionTestUtils.setField(service, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(service, "pipelineDepth", 1);
+        when(taskBulkRepository.getBatchSize()).thenReturn(BATCH_SIZE);
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void resumeSkipsRowsCommittedBeforeTheCheckpoint() {
+        ImportJob job = job(ImportJobStatus.FAILED, 250);
+        when(importJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        feed(500);
+        List<Long> writtenIds = new ArrayList<>();
+        doAnswer(invocation -> {
+            invocation.<List<Task>>getArgument(0).forEach(task -> writtenIds.add(task.getId()));
+            return null;
+        }).when(taskBulkRepository).upsertChunk(any(), any());
+
+        service.resume(job.getId());
+        ImportJobProgress progress = awaitFinished(job.getId());
+
+        assertEquals(ImportJobStatus.COMPLETED, progress.getStatus());
+        assertEquals(500, progress.getDone());
+        assertEquals(250, writtenIds.size());
+        assertEquals(251L, writtenIds.get(0));
+        assertEquals(500L, writtenIds.get(249));
+        //the partial batch first, then whole batches, each checkpointed with its own size
+        verify(importJobRepository).checkpoint(eq(job.getId()), eq(50L), anyLong(), anyLong(), anyLong(), anyLong());
+        verify(importJobRepository, times(2))
+                .checkpoint(eq(job.getId()), eq(100L), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void failingWriteStopsTheFetchInsteadOfDeadlocking() {
+        ImportJob job = job(ImportJobStatus.FAILED, 0);
+        when(importJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        AtomicInteger fetchedBatches = feed(1_000_000);
+        doThrow(new IllegalStateException("database down")).when(taskBulkRepository).upsertChunk(any(), any());
+
+        service.resume(job.getId());
+        ImportJobProgress progress = awaitFinished(job.getId());
+
+        assertEquals(ImportJobStatus.FAILED, progress.getStatus());
+        assertEquals("database down", progress.getLastError());
+        assertEquals(0, progress.getDone());
+        //the fetch gave up on the full queue rather than reading the whole feed
+        assertTrue(fetchedBatches.get() < 100, "fetched " + fetchedBatches.get() + " batches");
+    }
+
+    //the feed yields rows with ids 1..rows in batches, the returned counter tracks batches handed out
+    private AtomicInteger feed(int rows) {
+        AtomicInteger batches = new AtomicInteger();
+        when(taskFeedReader.read(anyString(), anyInt(), any())).thenAnswer(invocation -> {
+            Consumer<List<Task>> consumer = invocation.getArgument(2);
+            for (int first = 1; first <= rows; first += BATCH_SIZE) {
+                List<Task> batch = new ArrayList<>(BATCH_SIZE);
+                for (long id = first; id < first + BATCH_SIZE && id <= rows; id++) {
+                    Task task = new Task();
+                    task.setId(id);
+                    task.setTitle("task " + id);
+                    batch.add(task);
+                }
+                batches.incrementAndGet();
+                consumer.accept(batch);
+            }
+            return (long) rows;
+        });
+        return batches;
+    }
+
+    private ImportJobProgress awaitFinished(String id) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            ImportJobProgress progress = service.getProgress(id);
+            if (progress.getStatus() != ImportJobStatus.QUEUED && progress.getStatus() != ImportJobStatus.RUNNING) {
+                return progress;
+            }
+            if (System.nanoTime() > deadline) {
+                fail("Import job still " + progress.getStatus());
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private static ImportJob job(ImportJobStatus status, long committedRows) {
+        ImportJob job = new ImportJob();
+        job.setId("job-1");
+        job.setStatus(status);
+        job.setMode(ImportMode.FULL);
+        job.setSourceUrl("http://feed.invalid/todos");
+        job.setCommittedRows(committedRows);
+        return job;
+    }
+}
@@ -0,0 +1,133 @@
+package com.todo.demo.service;
+
+import com.todo.demo.exception.InvalidRefreshTokenException;
+import com.todo.demo.model.RefreshToken;
+import com.todo.demo.model.User;
+import com.todo.demo.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    private static final long TTL_MILLIS = Duration.ofDays(14).toMillis();
+
+    //rows of the stubbed repository, with the same claim and revoke rules as its queries
+    private final List<RefreshToken> rows = new ArrayList<>();
+    private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+    private final RefreshTokenService service = new RefreshTokenService();
+    private final User user = new User();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "refreshTokenRepository", repository);
+        ReflectionTestUtils.setField(service, "ttlMillis", TTL_MILLIS);
+        user.setId(42L);
+
+        when(repository.save(any())).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            token.setId((long) rows.size() + 1);
+            rows.add(token);
+            return token;
+        });
+        when(repository.findByTokenHash(anyString())).thenAnswer(invocation -> rows.stream()
+                .filter(row -> row.getTokenHash().equals(invocation.getArgument(0)))
+                .findFirst());
+        when(repository.markUsed(anyLong(), any())).thenAnswer(invocation -> {
+            RefreshToken row = rows.get(invocation.<Long>getArgument(0).intValue() - 1);
+            if (row.getUsedAt() != null || row.getRevokedAt() != null) {
+                return 0;
+            }
+            row.setUsedAt(invocation.getArgument(1));
+            return 1;
+        });
+        when(repository.revokeFamily(anyString(), any())).thenAnswer(invocation -> {
+            int revoked = 0;
+            for (RefreshToken row : rows) {
+                if (row.getFamilyId().equals(invocation.getArgument(0)) && row.getRevokedAt() == null) {
+                    row.setRevokedAt(invocation.getArgument(1));
+                    revoked++;
+                }
+            }
+            return revoked;
+        });
+    }
+
+    @Test
+    void issuedTokenExpiresAfterTheConfiguredTtl() {
+        LocalDateTime before = LocalDateTime.now();
+        service.issue(user);
+        LocalDateTime after = LocalDateTime.now();
+
+        LocalDateTime expiresAt = rows.get(0).getExpiresAt();
+        assertFalse(expiresAt.isBefore(before.plus(Duration.ofMillis(TTL_MILLIS))));
+        assertFalse(expiresAt.isAfter(after.plus(Duration.ofMillis(TTL_MILLIS))));
+    }
+
+    @Test
+    void rotationReplacesTheTokenWithinTheSameFamily() {
+        String first = service.issue(user);
+
+        RefreshTokenService.Rotation rotation = service.rotate(first);
+        RefreshTokenService.Rotation next = service.rotate(rotation.refreshToken());
+
+        assertEquals(42L, rotation.userId());
+        assertNotEquals(first, rotation.refreshToken());
+        assertEquals(42L, next.userId());
+        assertEquals(3, rows.size());
+        assertEquals(1, rows.stream().map(RefreshToken::getFamilyId).distinct().count());
+        //only a hash is stored
+        assertTrue(rows.stream().noneMatch(row -> row.getTokenHash().equals(first)));
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheWholeFamily() {
+        String first = service.issue(user);
+        String second = service.rotate(first).refreshToken();
+        String otherSession = service.issue(user);
+
+        InvalidRefreshTokenException reuse = assertThrows(InvalidRefreshTokenException.class,
+                () -> service.rotate(first));
+        assertEquals("Refresh token already used", reuse.getMessage());
+
+        InvalidRefreshTokenException revoked = assertThrows(InvalidRefreshTokenException.class,
+                () -> service.rotate(second));
+        assertEquals("Refresh token revoked", revoked.getMessage());
+        //a different login is a different family and keeps working
+        assertEquals(42L, service.rotate(otherSession).userId());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = service.issue(user);
+        rows.get(0).setExpiresAt(LocalDateTime.now().minusSeconds(1));
+
+        InvalidRefreshTokenException expired = assertThrows(InvalidRefreshTokenException.class,
+                () -> service.rotate(token));
+        assertEquals("Refresh token expired", expired.getMessage());
+        assertEquals(1, rows.size());
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        InvalidRefreshTokenException unknown = assertThrows(InvalidRefreshTokenException.class,
+                () -> service.rotate("not-a-token"));
+        assertEquals("Unknown refresh token", unknown.getMessage());
+    }
+}
@@ -0,0 +1,85 @@
+package com.todo.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskFeedReaderTest {
+
+    private static final int TASK_COUNT = 1_000_000;
+    private static final int BATCH_SIZE = 500;
+    private static final long HEAP_CEILING_BYTES = 48L * 1024 * 1024;
+
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void startStubServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/todos", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            try (BufferedWriter out = new BufferedWriter(
+                    new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8))) {
+                out.write('[');
+                for (int i = 1; i <= TASK_COUNT; i++) {
+                    if (i > 1) {
+                        out.write(',');
+                    }
+                    out.write("{\"userId\":" + (i % 1000) + ",\"id\":" + i
+                            + ",\"title\":\"generated task number " + i + " for streaming import\""
+                            + ",\"completed\":" + (i % 2 == 0) + "}");
+                }
+                out.write(']');
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/todos";
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void streamsLargeFeedInBoundedBatchesWithFlatHeap() {
+        TaskFeedReader reader = new TaskFeedReader(new RestTemplate(), new ObjectMapper().findAndRegisterModules());
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong batches = new AtomicLong();
+        AtomicLong peakRetained = new AtomicLong();
+        AtomicLong lastId = new AtomicLong();
+
+        long count = reader.read(url, BATCH_SIZE, batch -> {
+            assertTrue(batch.size() <= BATCH_SIZE);
+            lastId.set(batch.get(batch.size() - 1).getId());
+            if (batches.incrementAndGet() % 200 == 0) {
+                System.gc();
+                peakRetained.accumulateAndGet(memory.getHeapMemoryUsage().getUsed() - baseline, Math::max);
+            }
+        });
+
+        assertEquals(TASK_COUNT, count);
+        assertEquals(TASK_COUNT / BATCH_SIZE, batches.get());
+        assertEquals(TASK_COUNT, lastId.get());
+        assertTrue(peakRetained.get() < HEAP_CEILING_BYTES,
+                "retained heap grew to " + peakRetained.get() + " bytes while streaming");
+    }
+}
@@ -0,0 +1,135 @@
+package com.todo.demo.service;
+
+import com.todo.demo.cache.TaskCache;
+import com.todo.demo.event.TasksChangedEvent;
+import com.todo.demo.exception.PreconditionFailedException;
+import com.todo.demo.exception.TaskNotFoundException;
+import com.todo.demo.model.Task;
+import com.todo.demo.model.TaskPatch;
+import com.todo.demo.model.TaskView;
+import com.todo.demo.repository.TaskBulkRepository;
+import com.todo.demo.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskServiceConditionalWriteTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final TaskBulkRepository taskBulkRepository = mock(TaskBulkRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final TaskService taskService = new TaskService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskService, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(taskService, "taskBulkRepository", taskBulkRepository);
+        ReflectionTestUtils.setField(taskService, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(taskService, "taskCache", new TaskCache(true, 100, 60_000));
+    }
+
+    @Test
+    void patchReturnsTheUpdatedRowWithoutLoadingTheEntity() {
+        TaskPatch patch = new TaskPatch();
+        patch.setTitle("new title");
+        when(taskRepository.findTitleById(7L)).thenReturn(Optional.of("old title"));
+        when(taskBulkRepository.patchOne(eq(7L), eq(patch), eq(3L), any())).thenReturn(1);
+        TaskView row = view(7L, "new title", 4);
+        when(taskRepository.findViewById(7L)).thenReturn(Optional.of(row));
+
+        Task patched = taskService.patchTask(7L, patch, 3L);
+
+        assertEquals("new title", patched.getTitle());
+        assertEquals(4, patched.getVersion());
+        verify(taskRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(any(TasksChangedEvent.class));
+    }
+
+    @Test
+    void patchOfAStaleVersionFailsThePrecondition() {
+        TaskPatch patch = new TaskPatch();
+        patch.setCompleted(true);
+        when(taskBulkRepository.patchOne(eq(7L), eq(patch), eq(2L), any())).thenReturn(0);
+        when(taskRepository.findVersionById(7L)).thenReturn(Optional.of(4L));
+
+        assertThrows(PreconditionFailedException.class, () -> taskService.patchTask(7L, patch, 2L));
+    }
+
+    @Test
+    void patchOfAMissingTaskIsNotFound() {
+        TaskPatch patch = new TaskPatch();
+        patch.setCompleted(true);
+        when(taskBulkRepository.patchOne(eq(7L), eq(patch), any(), any())).thenReturn(0);
+        when(taskRepository.findVersionById(7L)).thenReturn(Optional.empty());
+
+        assertThrows(TaskNotFoundException.class, () -> taskService.patchTask(7L, patch, null));
+    }
+
+    @Test
+    void deleteOfAStaleVersionFailsThePreconditionWithoutDeleting() {
+        TaskView row = view(7L, "title", 4);
+        when(taskRepository.findViewById(7L)).thenReturn(Optional.of(row));
+
+        assertThrows(PreconditionFailedException.class, () -> taskService.deleteTask(7L, 3L));
+        verify(taskBulkRepository, never()).deleteOne(anyLong(), anyLong());
+    }
+
+    @Test
+    void deleteThatLosesARaceToAnUpdateFailsThePrecondition() {
+        TaskView before = view(7L, "title", 3);
+        TaskView after = view(7L, "title", 4);
+        when(taskRepository.findViewById(7L)).thenReturn(Optional.of(before), Optional.of(after));
+        when(taskBulkRepository.deleteOne(7L, 3L)).thenReturn(0);
+
+        assertThrows(PreconditionFailedException.class, () -> taskService.deleteTask(7L, 3L));
+    }
+
+    @Test
+    void deleteWithoutIfMatchRemovesTheVersionItRead() {
+        TaskView before = view(7L, "old title", 3);
+        TaskView after = view(7L, "new title", 4);
+        when(taskRepository.findViewById(7L)).thenReturn(Optional.of(before), Optional.of(after));
+        when(taskBulkRepository.deleteOne(7L, 3L)).thenReturn(0);
+        when(taskBulkRepository.deleteOne(7L, 4L)).thenReturn(1);
+
+        taskService.deleteTask(7L, null);
+
+        ArgumentCaptor<TasksChangedEvent> event = ArgumentCaptor.forClass(TasksChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals("new title", event.getValue().changes().get(0).oldTitle());
+    }
+
+    @Test
+    void deleteOfAMissingTaskIsNotFound() {
+        when(taskRepository.findViewById(7L)).thenReturn(Optional.empty());
+
+        assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(7L, null));
+    }
+
+    private static TaskView view(Long id, String title, long version) {
+        TaskView view = mock(TaskView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getUserId()).thenReturn(1L);
+        when(view.getTitle()).thenReturn(title);
+        when(view.getCompleted()).thenReturn(false);
+        when(view.getCreatedAt()).thenReturn(LocalDateTime.of(2025, 1, 1, 0, 0));
+        when(view.getUpdatedAt()).thenReturn(LocalDateTime.of(2025, 1, 2, 0, 0));
+        when(view.getVersion()).thenReturn(version);
+        return view;
+    }
+}